@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.benchmarks;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.d2.Sidewinder2DTetragon;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.distance.Dijkstras;
+import eu.jpangolin.jpangomaze.core.distance.IDistanceResult;
+import eu.jpangolin.jpangomaze.core.distance.SimpleDistance;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance analysis of a maze from its top left cell.
+ * <p>
+ *     We analyse by cell, using maps, and by grid, using cell ids.
+ * </p>
+ * @author jTzipi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanceBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean masked;
+
+    private Grid2DTetragon grid;
+    private ICell2DTetragon root;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        grid = Grids.create(size, masked);
+        new Sidewinder2DTetragon().plant(grid, GenerationContext.ofSeed(1L));
+        root = grid.getCell(0, 0);
+    }
+
+    @Benchmark
+    public IDistanceResult dijkstrasCell() {
+        return Dijkstras.of().analyse(root);
+    }
+
+    @Benchmark
+    public IDistanceResult dijkstrasGrid() {
+        return Dijkstras.of().analyse(grid, root);
+    }
+
+    @Benchmark
+    public IDistanceResult simpleCell() {
+        return SimpleDistance.create().analyse(root);
+    }
+
+    @Benchmark
+    public IDistanceResult simpleGrid() {
+        return SimpleDistance.create().analyse(grid, root);
+    }
+}
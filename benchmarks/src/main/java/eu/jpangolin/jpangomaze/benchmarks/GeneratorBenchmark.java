@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.benchmarks;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.IPlantable;
+import eu.jpangolin.jpangomaze.core.algo.d2.AldousBroder2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.AldousBroderWilson2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.BinaryTree2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Eller2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.GrowingTree2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.HuntAndKill2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Kruskal2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.ParallelBinaryTree2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.ParallelKruskal2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.ParallelSidewinder2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.RecursiveBacktracker2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.RecursiveDivision2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Sidewinder2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.SimplifiedPrim2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Tiled2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.TruePrim2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Wilson2DTetragon;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planting a maze on a fresh grid.
+ * <p>
+ *     Each measurement plants one maze since a grid can be planted only once.
+ *     The grid is created before the measurement.
+ *     The random walk algorithms on 2000 x 2000 cells run for minutes,
+ *     restrict them with {@code -p size=...} if needed.
+ * </p>
+ * @author jTzipi
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    /**
+     * Algorithms.
+     */
+    public enum Algorithm {
+        BINARY_TREE {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new BinaryTree2DTetragon();
+            }
+        },
+        PARALLEL_BINARY_TREE {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new ParallelBinaryTree2DTetragon();
+            }
+        },
+        SIDEWINDER {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new Sidewinder2DTetragon();
+            }
+        },
+        PARALLEL_SIDEWINDER {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new ParallelSidewinder2DTetragon();
+            }
+        },
+        ALDOUS_BRODER {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new AldousBroder2DTetragon();
+            }
+        },
+        ALDOUS_BRODER_WILSON {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new AldousBroderWilson2DTetragon();
+            }
+        },
+        ELLER(false) {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new Eller2DTetragon();
+            }
+        },
+        GROWING_TREE {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new GrowingTree2DTetragon();
+            }
+        },
+        HUNT_AND_KILL {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new HuntAndKill2DTetragon();
+            }
+        },
+        KRUSKAL {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new Kruskal2DTetragon();
+            }
+        },
+        PARALLEL_KRUSKAL {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new ParallelKruskal2DTetragon();
+            }
+        },
+        SIMPLIFIED_PRIM {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new SimplifiedPrim2DTetragon();
+            }
+        },
+        TRUE_PRIM {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new TruePrim2DTetragon();
+            }
+        },
+        RECURSIVE_BACKTRACKER {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new RecursiveBacktracker2DTetragon();
+            }
+        },
+        RECURSIVE_DIVISION(false) {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new RecursiveDivision2DTetragon();
+            }
+        },
+        WILSON {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new Wilson2DTetragon();
+            }
+        },
+        TILED_WILSON {
+            @Override
+            IPlantable<IGrid2DTetragon, ICell2DTetragon> create() {
+                return new Tiled2DTetragon(new Wilson2DTetragon());
+            }
+        };
+
+        private final boolean maskable;
+
+        Algorithm() {
+            this(true);
+        }
+
+        Algorithm(boolean maskable) {
+            this.maskable = maskable;
+        }
+
+        abstract IPlantable<IGrid2DTetragon, ICell2DTetragon> create();
+    }
+
+    @Param
+    Algorithm algorithm;
+
+    @Param({"10", "100", "500", "2000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean masked;
+
+    private IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable;
+    private Grid2DTetragon grid;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        if (masked && !algorithm.maskable) {
+            throw new IllegalStateException(algorithm + " can not plant masked grids");
+        }
+        plantable = algorithm.create();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        grid = Grids.create(size, masked);
+        seed++;
+    }
+
+    @Benchmark
+    public Grid2DTetragon plant() {
+        plantable.plant(grid, GenerationContext.ofSeed(seed));
+        return grid;
+    }
+}
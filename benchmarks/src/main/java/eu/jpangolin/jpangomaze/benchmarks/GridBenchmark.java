@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.benchmarks;
+
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a grid including all cells.
+ * @author jTzipi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GridBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean masked;
+
+    @Benchmark
+    public Grid2DTetragon of() {
+        return Grids.create(size, masked);
+    }
+}
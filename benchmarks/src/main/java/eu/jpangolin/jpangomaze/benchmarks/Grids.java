@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.benchmarks;
+
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+
+/**
+ * Grids for the benchmarks.
+ * @author jTzipi
+ */
+final class Grids {
+
+    private Grids() {
+        throw new AssertionError("\n???");
+    }
+
+    /**
+     * Create a square grid.
+     * <p>
+     *     If masked we mask the middle ninth of the grid.
+     *     The remaining cells stay connected.
+     * </p>
+     * @param size rows and columns
+     * @param masked whether to mask
+     * @return grid
+     */
+    static Grid2DTetragon create(int size, boolean masked) {
+        Grid2DTetragon grid = Grid2DTetragon.of(size, size);
+        if (masked) {
+            int from = size / 3;
+            int to = 2 * size / 3 - 1;
+            grid.getMask().maskRectangle(from, from, to, to);
+        }
+        return grid;
+    }
+}
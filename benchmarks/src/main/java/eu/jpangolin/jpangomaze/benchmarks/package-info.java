@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks of grid creation, maze algorithms and distance measurers.
+ * <p>
+ *     Build with {@code mvn -pl benchmarks -am package} and run {@code java -jar benchmarks/target/benchmarks.jar}.
+ *     The runner adds the GC profiler so each run reports allocation rates.
+ *     All JMH options can be passed, e.g. {@code -p size=10,100} to restrict the grid sizes.
+ * </p>
+ */
+package eu.jpangolin.jpangomaze.benchmarks;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core;
+
+/**
+ * The four directions of a tetragonal - rectangular - cell.
+ * <p>
+ *     Each direction has a fixed bit in a link mask.
+ *     That is we can store the linked neighbours of a tetragonal cell
+ *     in the lower four bits of a {@code byte}.
+ *     <br/>
+ *     North is the direction to the previous row and west to the previous column.
+ * </p>
+ * @author jTzipi
+ */
+public enum Direction2DTetragon implements IDirection {
+
+    NORTH(-1, 0),
+    EAST(0, 1),
+    WEST(0, -1),
+    SOUTH(1, 0);
+
+    /**
+     * All links set.
+     */
+    public static final int ALL_BITS = 0b1111;
+
+    private static final Direction2DTetragon[] VALUES = values();
+
+    private final int rowDelta;
+    private final int columnDelta;
+
+    Direction2DTetragon(int rowDelta, int columnDelta) {
+        this.rowDelta = rowDelta;
+        this.columnDelta = columnDelta;
+    }
+
+    /**
+     * Bit of this direction in a link mask.
+     * @return bit [1, 2, 4, 8]
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Row offset to the neighbour in this direction.
+     * @return -1, 0 or 1
+     */
+    public int rowDelta() {
+        return rowDelta;
+    }
+
+    /**
+     * Column offset to the neighbour in this direction.
+     * @return -1, 0 or 1
+     */
+    public int columnDelta() {
+        return columnDelta;
+    }
+
+    /**
+     * Return the opposite direction.
+     * @return opposite direction
+     */
+    public Direction2DTetragon opposite() {
+        return switch (this) {
+            case NORTH -> SOUTH;
+            case EAST -> WEST;
+            case WEST -> EAST;
+            case SOUTH -> NORTH;
+        };
+    }
+
+    /**
+     * Return the direction for an ordinal without cloning the values array.
+     * @param ordinal ordinal [0 .. 3]
+     * @return direction
+     * @throws ArrayIndexOutOfBoundsException if {@code ordinal} is not in [0 .. 3]
+     */
+    public static Direction2DTetragon of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Return the direction from cell [{@code row},{@code column}] to the adjacent cell [{@code otherRow},{@code otherColumn}].
+     * @param row row
+     * @param column column
+     * @param otherRow other row
+     * @param otherColumn other column
+     * @return direction or {@code null} if both cells are not adjacent
+     */
+    public static Direction2DTetragon between(int row, int column, int otherRow, int otherColumn) {
+        int dr = otherRow - row;
+        int dc = otherColumn - column;
+        if (0 == dc) {
+            if (-1 == dr) {
+                return NORTH;
+            }
+            if (1 == dr) {
+                return SOUTH;
+            }
+        } else if (0 == dr) {
+            if (1 == dc) {
+                return EAST;
+            }
+            if (-1 == dc) {
+                return WEST;
+            }
+        }
+        return null;
+    }
+}
@@ -19,7 +19,6 @@ package eu.jpangolin.jpangomaze.core;
 import eu.jpangolin.jpangomaze.core.cell.ICell;
 import eu.jpangolin.jpangomaze.core.distance.IDistanceMeasurer;
 import eu.jpangolin.jpangomaze.core.distance.IDistanceResult;
-import eu.jpangolin.jpangomaze.core.distance.IPathLink;
 import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2D;
 import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DCartesian;
 import org.slf4j.LoggerFactory;
@@ -27,6 +26,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
 
 /**
  * Utils for Mazes.
@@ -35,8 +36,8 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public final class MazeUtils {
 
-    private static final ThreadLocalRandom TLR = ThreadLocalRandom.current();
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(MazeUtils.class);
+    private static final AtomicLong GUID = new AtomicLong(System.nanoTime());
     //
     private MazeUtils() {
        throw new AssertionError("\n???");
@@ -44,6 +45,9 @@ public final class MazeUtils {
 
     /**
      * Return a random cell from the list of cells.
+     * <p>
+     *     We use the {@link ThreadLocalRandom} of the calling thread.
+     * </p>
      * @param cellList cell list
      * @return random item
      * @param <C> cell subtype
@@ -51,12 +55,25 @@ public final class MazeUtils {
      * @throws IllegalArgumentException if {@code cellList} is empty
      */
     public static <C extends ICell> C getRandomCell(List<C> cellList) {
+        return getRandomCell(cellList, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Return a random cell from the list of cells.
+     * @param cellList cell list
+     * @param random random generator
+     * @return random item
+     * @param <C> cell subtype
+     * @throws NullPointerException if {@code cellList} or {@code random}
+     * @throws IllegalArgumentException if {@code cellList} is empty
+     */
+    public static <C extends ICell> C getRandomCell(List<C> cellList, RandomGenerator random) {
         Objects.requireNonNull(cellList);
+        Objects.requireNonNull(random);
         if(cellList.isEmpty()) {
             throw new IllegalArgumentException("The cell list is empty!");
         }
-        int pos = randomInt(cellList.size());
-        LOG.warn("Next cell for pos {} of {}", pos, cellList.size());
+        int pos = random.nextInt(cellList.size());
         return cellList.get(pos);
     }
 
@@ -70,12 +87,26 @@ public final class MazeUtils {
     }
 
     public static int randomInt(int origin, int max) {
+        return randomInt(origin, max, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Return a random int in [{@code origin} .. {@code max}).
+     * @param origin least value
+     * @param max upper bound (exclusive)
+     * @param random random generator
+     * @return random int
+     * @throws NullPointerException if {@code random}
+     * @throws IllegalArgumentException if {@code origin} &ge; {@code max}
+     */
+    public static int randomInt(int origin, int max, RandomGenerator random) {
+        Objects.requireNonNull(random);
         if( origin >= max ) {
             LOG.warn("Origin = '{}' >= max = '{}'", origin, max);
             throw new IllegalArgumentException("Origin(=" + origin + ") must < then max(='"+max+"')!");
         }
 
-        return TLR.nextInt(origin,max);
+        return random.nextInt(origin,max);
     }
     /**
      * Clamp a value to [{@code min} .. {@code max}].
@@ -105,24 +136,22 @@ public final class MazeUtils {
 
         return ret;
     }
-    public static List<ICell> shortestPathFor( final ICell cell, IDistanceResult distanceResult) {
 
+    /**
+     * Return the shortest path from a cell back to the root cell of a distance analysis.
+     * @param cell cell
+     * @param distanceResult result of a distance analysis
+     * @return path starting with {@code cell} without the root cell or an empty list if {@code cell} was not reached
+     * @see IDistanceResult#shortestPathFor(ICell)
+     */
+    public static List<ICell> shortestPathFor( final ICell cell, IDistanceResult distanceResult) {
+        Objects.requireNonNull(distanceResult);
+        // the path of the root cell is empty too
         if(!distanceResult.pathLinkMap().containsKey(cell)) {
             LOG.warn("Cell {} not contained!", cell);
             return List.of();
         }
-
-        List<ICell> shortestPathL = new ArrayList<>();
-        Map<ICell, IPathLink> resultMap = distanceResult.pathLinkMap();
-        IPathLink pathLink = resultMap.get(cell);
-
-        while( !pathLink.link().equals(IPathLink.NullLink.SINGLETON) ) {
-
-            shortestPathL.add(pathLink.node());
-            pathLink  = pathLink.link();
-        }
-
-        return shortestPathL;
+        return distanceResult.shortestPathFor(cell);
     }
 
     public static void throwIfIllegalPosition2D(int row, int column) {
@@ -188,7 +217,14 @@ public final class MazeUtils {
             }
     }
 
+    /**
+     * Return a new grid unique id.
+     * <p>
+     *     Ids are taken from a counter, so grids created at the same time by different threads never share an id.
+     * </p>
+     * @return unique id
+     */
     public static long generateGUID() {
-        return System.nanoTime();
+        return GUID.incrementAndGet();
     }
 }
\ No newline at end of file
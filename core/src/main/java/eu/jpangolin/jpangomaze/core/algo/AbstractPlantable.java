@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.jfr.PlantEvent;
+
+import java.util.Objects;
+
+/**
+ * Base of the maze algorithms.
+ * <p>
+ *     Checks the arguments, records a {@link PlantEvent} and publishes the metrics of the context.
+ *     Subclasses implement {@link #doPlant(IGrid, GenerationContext)}.
+ * </p>
+ * <p>
+ *     The context is checked once before planting. If an algorithm is aborted by
+ *     {@link GenerationContext#checkpoint(long)} we return the status. The metrics may be incomplete then.
+ * </p>
+ * @param <G> grid type
+ * @param <C> cell type
+ * @author jTzipi
+ */
+public abstract class AbstractPlantable<G extends IGrid<C>, C extends ICell> implements IPlantable<G, C> {
+
+    @Override
+    public final PlantStatus plant(G grid, GenerationContext ctx) {
+        Objects.requireNonNull(grid);
+        Objects.requireNonNull(ctx);
+
+        PlantStatus status;
+        PlantEvent event = new PlantEvent();
+        if (!event.isEnabled()) {
+            status = run(grid, ctx);
+        } else {
+            GenerationMetrics before = new GenerationMetrics();
+            before.merge(ctx.metrics());
+
+            event.begin();
+            status = run(grid, ctx);
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.setAlgorithm(getClass());
+                event.setGrid(grid);
+                event.setCounters(before, ctx.metrics());
+                event.setStatus(status);
+                event.commit();
+            }
+        }
+        ctx.publishMetrics();
+        return status;
+    }
+
+    private PlantStatus run(G grid, GenerationContext ctx) {
+        try {
+            ctx.checkpoint(0L);
+            doPlant(grid, ctx);
+            return PlantStatus.COMPLETED;
+        } catch (GenerationAbortedException gae) {
+            return gae.getStatus();
+        }
+    }
+
+    /**
+     * Run the algorithm.
+     * <p>
+     *     Long running loops should call {@link GenerationContext#checkpoint(long)}
+     *     every {@link GenerationContext#CHECKPOINT_INTERVAL} steps or so.
+     * </p>
+     * @param grid grid
+     * @param ctx generation context
+     */
+    protected abstract void doPlant(G grid, GenerationContext ctx);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Thrown by {@link GenerationContext#checkpoint(long)} to abort an algorithm.
+ * <p>
+ *     {@link AbstractPlantable} catches this and returns the {@linkplain #getStatus() status}.
+ *     So algorithms need not handle it.
+ *     Aborting is expected control flow, therefore this exception has no stack trace.
+ * </p>
+ * @author jTzipi
+ */
+public final class GenerationAbortedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private final PlantStatus status;
+
+    // not public, so the fork/join framework rethrows this instance and not a copy
+    GenerationAbortedException(final PlantStatus status) {
+        super(Objects.requireNonNull(status).name(), null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * Return the reason.
+     * @return status not {@link PlantStatus#COMPLETED}
+     */
+    public PlantStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Context of one maze generation.
+ * <p>
+ *     Holds the random generator an {@link IPlantable} must use for <u>all</u> random decisions.
+ *     A context created with a seed will plant the same maze for the same algorithm and grid size.
+ * </p>
+ * <p>
+ *     The algorithm counts its work in the {@link GenerationMetrics} of the context.
+ *     If a sink is set it gets the metrics on {@link #publishMetrics()}.
+ * </p>
+ * <p>
+ *     A context can limit the generation by a {@linkplain #withTimeout(Duration) deadline},
+ *     a {@linkplain #withStepBudget(long) step budget} and {@linkplain #cancel() cancellation}.
+ *     Algorithms call {@link #checkpoint(long)} every {@link #CHECKPOINT_INTERVAL} steps or so,
+ *     which aborts the algorithm if a limit is hit. The limits are shared with split contexts.
+ * </p>
+ * <p>
+ *     A context is <em>not</em> thread safe, except for {@link #cancel()} and {@link #checkpoint(long)}.
+ *     For each worker thread create an own context with {@link #split()}.
+ *     Splitting is deterministic, so a seeded context stays reproducible
+ *     as long as the work is split in the same order.
+ * </p>
+ * @author jTzipi
+ */
+public final class GenerationContext {
+
+    /**
+     * Steps between two calls of {@link #checkpoint(long)}, roughly.
+     */
+    public static final int CHECKPOINT_INTERVAL = 1 << 12;
+
+    private final RandomGenerator.SplittableGenerator random;
+    private final Long seed;
+    private final Limits limits;
+    private final GenerationMetrics metrics = new GenerationMetrics();
+    private Consumer<GenerationMetrics> metricsSink;
+
+    private GenerationContext(final RandomGenerator.SplittableGenerator random, final Long seed, final Limits limits) {
+        this.random = random;
+        this.seed = seed;
+        this.limits = limits;
+    }
+
+    /**
+     * Create a context with an unpredictable seed.
+     * @return context
+     */
+    public static GenerationContext of() {
+        return new GenerationContext(new SplittableRandom(), null, new Limits());
+    }
+
+    /**
+     * Create a reproducible context.
+     * @param seed seed
+     * @return context
+     */
+    public static GenerationContext ofSeed(long seed) {
+        return new GenerationContext(new SplittableRandom(seed), seed, new Limits());
+    }
+
+    /**
+     * Create a context using a random generator.
+     * @param random random generator
+     * @return context
+     * @throws NullPointerException if {@code random}
+     */
+    public static GenerationContext of(RandomGenerator.SplittableGenerator random) {
+        Objects.requireNonNull(random);
+        return new GenerationContext(random, null, new Limits());
+    }
+
+    /**
+     * Return the random generator of this context.
+     * @return random generator
+     */
+    public RandomGenerator.SplittableGenerator random() {
+        return random;
+    }
+
+    /**
+     * Return the metrics of this context.
+     * @return metrics
+     */
+    public GenerationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the sink for the metrics.
+     * @param metricsSink sink or {@code null} for none
+     * @return this
+     */
+    public GenerationContext withMetricsSink(Consumer<GenerationMetrics> metricsSink) {
+        this.metricsSink = metricsSink;
+        return this;
+    }
+
+    /**
+     * Pass the metrics to the sink if any.
+     */
+    public void publishMetrics() {
+        if (null != metricsSink) {
+            metricsSink.accept(metrics);
+        }
+    }
+
+    /**
+     * Return the seed if this context was created by {@link #ofSeed(long)}.
+     * @return seed or empty
+     */
+    public OptionalLong seed() {
+        return null == seed ? OptionalLong.empty() : OptionalLong.of(seed);
+    }
+
+    /**
+     * Split a new context from this.
+     * <p>
+     *     The new context has its own random generator and metrics and can be used by another thread.
+     *     It shares the limits of this context.
+     * </p>
+     * @return new context
+     */
+    public GenerationContext split() {
+        return new GenerationContext(random.split(), null, limits);
+    }
+
+    /**
+     * Abort generation if it takes longer than a timeout from now.
+     * @param timeout timeout
+     * @return this
+     * @throws NullPointerException if {@code timeout}
+     * @throws IllegalArgumentException if {@code timeout} is negative
+     */
+    public GenerationContext withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout[=" + timeout + "] < 0");
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException ae) {
+            nanos = Long.MAX_VALUE;
+        }
+        limits.deadline = System.nanoTime() + Math.min(nanos, Long.MAX_VALUE / 2);
+        limits.hasDeadline = true;
+        return this;
+    }
+
+    /**
+     * Abort generation after a number of steps.
+     * <p>
+     *     What a step is depends on the algorithm, e.g. a step of a random walk or a visited cell.
+     *     The budget is checked every {@link #CHECKPOINT_INTERVAL} steps or so.
+     * </p>
+     * @param steps steps [0 .. ]
+     * @return this
+     * @throws IllegalArgumentException if {@code steps} &lt; 0
+     */
+    public GenerationContext withStepBudget(long steps) {
+        if (0L > steps) {
+            throw new IllegalArgumentException("Steps[=" + steps + "] < 0");
+        }
+        limits.budget.set(steps);
+        limits.hasBudget = true;
+        return this;
+    }
+
+    /**
+     * Cancel generation.
+     * <p>
+     *     May be called by any thread. The algorithm aborts at its next checkpoint.
+     * </p>
+     */
+    public void cancel() {
+        limits.cancelled = true;
+    }
+
+    /**
+     * Return whether this context is cancelled.
+     * @return {@code true} if cancelled
+     */
+    public boolean isCancelled() {
+        return limits.cancelled;
+    }
+
+    /**
+     * Check the limits of this context.
+     * <p>
+     *     Algorithms call this every {@link #CHECKPOINT_INTERVAL} steps or so.
+     *     May be called by any thread.
+     * </p>
+     * @param steps steps since the last checkpoint
+     * @throws GenerationAbortedException if cancelled, the deadline passed or the step budget is used up
+     */
+    public void checkpoint(long steps) {
+        if (limits.cancelled) {
+            throw new GenerationAbortedException(PlantStatus.CANCELLED);
+        }
+        if (limits.hasBudget && 0L > limits.budget.addAndGet(-steps)) {
+            throw new GenerationAbortedException(PlantStatus.BUDGET_EXHAUSTED);
+        }
+        if (limits.hasDeadline && 0L < System.nanoTime() - limits.deadline) {
+            throw new GenerationAbortedException(PlantStatus.DEADLINE_EXCEEDED);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationContext{" +
+                "seed=" + seed +
+                '}';
+    }
+
+    /**
+     * Limits shared by a context and its splits.
+     */
+    private static final class Limits {
+
+        private final AtomicLong budget = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile boolean hasBudget;
+        private volatile boolean hasDeadline;
+        private volatile long deadline;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Counters of one maze generation.
+ * <p>
+ *     Algorithms count their work here instead of logging each step.
+ *     A caller can read the counters after planting or publish them to a sink,
+ *     e.g. the {@linkplain #loggingSink() logging sink}.
+ * </p>
+ * <p>
+ *     Like the {@link GenerationContext} this is <em>not</em> thread safe.
+ *     Each thread counts on its own instance and the results are {@linkplain #merge(GenerationMetrics) merged}.
+ * </p>
+ * @author jTzipi
+ */
+public final class GenerationMetrics {
+
+    /**
+     * Counted events.
+     */
+    public enum Counter {
+        /** Links between two cells. */
+        LINKS,
+        /** Steps of a random walk. */
+        WALK_STEPS,
+        /** Loops erased from a random walk. */
+        LOOP_ERASURES,
+        /** Cells pushed to a queue, stack or frontier. */
+        QUEUE_PUSHES,
+        /** Cells popped from a queue, stack or frontier. */
+        QUEUE_POPS
+    }
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(GenerationMetrics.class);
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private final long[] counts = new long[COUNTERS.length];
+
+    /**
+     * Increment a counter by one.
+     * @param counter counter
+     */
+    public void increment(Counter counter) {
+        counts[counter.ordinal()]++;
+    }
+
+    /**
+     * Add to a counter.
+     * @param counter counter
+     * @param delta value to add
+     */
+    public void add(Counter counter, long delta) {
+        counts[counter.ordinal()] += delta;
+    }
+
+    /**
+     * Return the value of a counter.
+     * @param counter counter
+     * @return value
+     */
+    public long get(Counter counter) {
+        return counts[counter.ordinal()];
+    }
+
+    /**
+     * Add all counters of another metrics to this.
+     * @param other other metrics
+     * @throws NullPointerException if {@code other}
+     */
+    public void merge(GenerationMetrics other) {
+        Objects.requireNonNull(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    /**
+     * Set all counters to zero.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+    }
+
+    /**
+     * Return a copy of the counters.
+     * @return counter values
+     */
+    public Map<Counter, Long> snapshot() {
+        Map<Counter, Long> map = new EnumMap<>(Counter.class);
+        for (Counter counter : COUNTERS) {
+            map.put(counter, counts[counter.ordinal()]);
+        }
+        return map;
+    }
+
+    /**
+     * Sink logging the counters once at info level.
+     * @return logging sink
+     */
+    public static Consumer<GenerationMetrics> loggingSink() {
+        return metrics -> LOG.info("Generation metrics {}", metrics);
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationMetrics" + snapshot();
+    }
+}
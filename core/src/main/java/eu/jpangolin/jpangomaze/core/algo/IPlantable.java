@@ -30,9 +30,30 @@ public interface IPlantable<G extends IGrid<C>, C extends ICell> {
     /**
      * 'Plant' the maze.
      * That is run the algorithm to create the maze.
+     * <p>
+     *     We use a fresh {@link GenerationContext} so each call plants another maze.
+     * </p>
      * @param grid Grid to plant the maze on
+     * @return {@link PlantStatus#COMPLETED} since the context has no limits
      * @throws NullPointerException if {@code grid}
      */
-    void plant( G grid);
+    default PlantStatus plant( G grid) {
+        return plant(grid, GenerationContext.of());
+    }
+
+    /**
+     * 'Plant' the maze using the random generator of a context.
+     * <p>
+     *     With a seeded context the same algorithm plants the same maze on a grid of same size.
+     * </p>
+     * <p>
+     *     If a limit of the context is hit the algorithm stops and the grid holds a partial maze.
+     * </p>
+     * @param grid Grid to plant the maze on
+     * @param ctx generation context
+     * @return status
+     * @throws NullPointerException if {@code grid} or {@code ctx}
+     */
+    PlantStatus plant( G grid, GenerationContext ctx);
 
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+/**
+ * Result of planting a maze.
+ * <p>
+ *     If planting was aborted by a limit of the {@link GenerationContext} the grid holds the links created so far.
+ *     That is a partial maze, not necessarily connected.
+ * </p>
+ * @author jTzipi
+ */
+public enum PlantStatus {
+
+    /** The maze is complete. */
+    COMPLETED,
+    /** Aborted since the context was {@linkplain GenerationContext#cancel() cancelled}. */
+    CANCELLED,
+    /** Aborted since the {@linkplain GenerationContext#withTimeout(java.time.Duration) deadline} passed. */
+    DEADLINE_EXCEEDED,
+    /** Aborted since the {@linkplain GenerationContext#withStepBudget(long) step budget} is used up. */
+    BUDGET_EXHAUSTED;
+
+    /**
+     * Return whether the maze is complete.
+     * @return {@code true} if {@link #COMPLETED}
+     */
+    public boolean isCompleted() {
+        return COMPLETED == this;
+    }
+}
@@ -16,45 +16,84 @@
 
 package eu.jpangolin.jpangomaze.core.algo.d2;
 
-import eu.jpangolin.jpangomaze.core.MazeUtils;
-import eu.jpangolin.jpangomaze.core.algo.IPlantable;
-import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
-import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
-import org.slf4j.LoggerFactory;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
 
-import java.util.Objects;
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
 
 /**
  * Aldous-Broder Algorithm on 2D tetragonal plane.
+ * <p>
+ *     We walk randomly and link each cell we enter the first time to the cell we came from.
+ *     The result is a uniform spanning tree of all unmasked cells.
+ *     Visited cells are marked in a bitset.
+ * </p>
+ * <p>
+ *     The walk finds most cells fast but needs long to find the last unvisited cells.
+ *     For large grids see {@link AldousBroderWilson2DTetragon}.
+ * </p>
+ * @implNote The unmasked cells must be connected. Otherwise the walk never ends.
  * @author jTzipi
  */
-public class AldousBroder2DTetragon implements IPlantable<Grid2DTetragon, ICell2DTetragon> {
-
-    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(AldousBroder2DTetragon.class);
+public class AldousBroder2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
 
     @Override
-    public void plant(Grid2DTetragon grid) {
-        Objects.requireNonNull(grid);
-
-        ICell cell = grid.getRandomCell();
-        int unvisited = grid.getSize();
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        RandomGenerator random = ctx.random();
+        BitSet visited = new BitSet(grid.getCapacity());
+        int start = grid.cellId(grid.getRandomCell(random));
 
-        while (unvisited > 0) {
+        walk(grid, random, visited, start, grid.getSize(), ctx);
+    }
 
-            LOG.info("AB > Unvisited cells='{}'", unvisited);
-            // get a random neighbour which is not a border cell
-            // and not masked
-            ICell randomNB = MazeUtils.getRandomCell(cell.getTraversableNeighbours());
+    /**
+     * Walk randomly until a number of cells is visited.
+     * @param grid grid
+     * @param random random generator
+     * @param visited visited cells, empty
+     * @param start id of the first cell
+     * @param target number of cells to visit [1 .. grid size]
+     * @param ctx context for limits and metrics
+     */
+    static void walk(IGrid2DTetragon grid, RandomGenerator random, BitSet visited, int start, int target, GenerationContext ctx) {
+        final int columns = grid.getColumns();
+        final boolean unmasked = grid.getSize() == grid.getCapacity();
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        long steps = 0L;
+        long links = 0L;
 
-            if(randomNB.getLinkedNeighbours().isEmpty()) {
+        visited.set(start);
+        int visitedCnt = 1;
+        int id = start;
 
-                LOG.info("Found unlinked neighbour {}" , randomNB);
-                cell.link(randomNB);
-                unvisited--;
+        while (visitedCnt < target) {
+            int dirCnt = Neighbours2DTetragon.traversable(grid, unmasked, id, dirA);
+            Direction2DTetragon dir = dirA[random.nextInt(dirCnt)];
+            int nb = Neighbours2DTetragon.neighbourId(id, columns, dir);
+            steps++;
+            if (0 == (steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
             }
 
-            cell = randomNB;
+            if (!visited.get(nb)) {
+                grid.link(id, dir);
+                visited.set(nb);
+                visitedCnt++;
+                links++;
+            }
+            id = nb;
         }
+
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.WALK_STEPS, steps);
+        metrics.add(GenerationMetrics.Counter.LINKS, links);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Aldous-Broder and Wilson's algorithm combined.
+ * <p>
+ *     Aldous-Broder visits most cells fast and then needs long to find the last ones.
+ *     Wilson's algorithm needs long for the first walks until the maze is large enough to hit.
+ *     So we walk with Aldous-Broder until a ratio of cells is visited and add the rest with Wilson.
+ * </p>
+ * <p>
+ *     Both algorithms create a uniform spanning tree, and Wilson's algorithm may start
+ *     with the tree of the Aldous-Broder walk. So the maze is uniform too.
+ * </p>
+ * @implNote The unmasked cells must be connected. Otherwise a walk never ends.
+ * @author jTzipi
+ */
+public class AldousBroderWilson2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Default ratio of visited cells to switch to Wilson.
+     */
+    public static final double DEFAULT_SWITCH_RATIO = 0.3D;
+
+    private final double switchRatio;
+
+    /**
+     * Aldous-Broder Wilson with {@link #DEFAULT_SWITCH_RATIO}.
+     */
+    public AldousBroderWilson2DTetragon() {
+        this(DEFAULT_SWITCH_RATIO);
+    }
+
+    /**
+     * Aldous-Broder Wilson.
+     * @param switchRatio ratio of visited cells to switch to Wilson [0 .. 1]
+     * @throws IllegalArgumentException if {@code switchRatio} is not in [0 .. 1]
+     */
+    public AldousBroderWilson2DTetragon(final double switchRatio) {
+        if (!(0D <= switchRatio && switchRatio <= 1D)) {
+            throw new IllegalArgumentException("Switch ratio[='" + switchRatio + "'] not in [0 .. 1]!");
+        }
+        this.switchRatio = switchRatio;
+    }
+
+    /**
+     * Return the ratio of visited cells to switch to Wilson.
+     * @return switch ratio
+     */
+    public double getSwitchRatio() {
+        return switchRatio;
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final RandomGenerator random = ctx.random();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final int[] unvisitedA = Wilson2DTetragon.unmaskedIds(grid);
+        if (0 == unvisitedA.length) {
+            return;
+        }
+        final int start = unvisitedA[random.nextInt(unvisitedA.length)];
+        final int target = Math.max(1, (int) Math.ceil(switchRatio * unvisitedA.length));
+
+        AldousBroder2DTetragon.walk(grid, random, visited, start, target, ctx);
+        Wilson2DTetragon.walk(grid, random, visited, unvisitedA, unvisitedA.length, ctx);
+    }
+
+    @Override
+    public String toString() {
+        return "AldousBroderWilson2DTetragon{" +
+                "switchRatio=" + switchRatio +
+                '}';
+    }
+}
@@ -16,65 +16,131 @@
 
 package eu.jpangolin.jpangomaze.core.algo.d2;
 
-
-import eu.jpangolin.jpangomaze.core.MazeUtils;
-import eu.jpangolin.jpangomaze.core.algo.IPlantable;
-import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
-import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
-import org.slf4j.LoggerFactory;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 /**
  * Binary tree algo.
+ * <p>
+ *     For large grids see {@link ParallelBinaryTree2DTetragon}.
+ * </p>
+ * <p>
+ *     The {@link #stepper(IGrid2DTetragon, GenerationContext) stepper} emits the links row by row from the first row.
+ * </p>
  *
  * @author jTzipi
  */
-public class BinaryTree2DTetragon implements IPlantable<Grid2DTetragon, ICell2DTetragon> {
-
-    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(BinaryTree2DTetragon.class);
+public class BinaryTree2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> implements ISteppable2DTetragon {
 
-    BinaryTree2DTetragon() {
+    public BinaryTree2DTetragon() {
     }
 
     @Override
-    public void plant(Grid2DTetragon grid) {
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        RandomGenerator random = ctx.random();
+        long links = 0L;
+        long cells = 0L;
 
         // for all cells look for north and east neighbour
-        // add them to a list and choose one cell randomly
+        // and choose one of them randomly
         // Attention:
         // we have to check the neighbour  masked state
         // but not the mask state of cell because
         // the getCells() method already filters masked cells
         for (ICell2DTetragon cell : grid.getCells()) {
-            LOG.info("Visit '{}'", cell);
-
-            // Neighbours to the north and east
-            List<ICell> nbList = new ArrayList<>();
+            if (0 == (++cells & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
 
             // get north and east edge neighbour
             ICell2DTetragon nn = cell.getNeighbourNorth();
             ICell2DTetragon ne = cell.getNeighbourEast();
             // we can visit north neighbour
-            if (nn.isUnmasked()) {
-                nbList.add(nn);
-            }
             // and east
-            if (ne.isUnmasked()) {
-                nbList.add(ne);
+            boolean north = nn.isLinkable();
+            boolean east = ne.isLinkable();
+
+            // we have two neighbours
+            // choose one
+            if (north && east) {
+                north = random.nextBoolean();
+                east = !north;
             }
 
-            // we have at least one neighbour
-            // choose one of the list
             // and link it to the cell
-            if (!nbList.isEmpty()) {
+            if (north) {
+                cell.link(nn);
+                links++;
+            } else if (east) {
+                cell.link(ne);
+                links++;
+            }
+        }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
 
-                ICell linkNB = MazeUtils.getRandomCell(nbList);
-                cell.link(linkNB);
+    @Override
+    public IStepper2DTetragon stepper(IGrid2DTetragon grid, GenerationContext ctx) {
+        Objects.requireNonNull(ctx);
+        IStepper2DTetragon.checkCapacity(grid);
+        return new Stepper(grid, ctx);
+    }
+
+    /**
+     * Binary tree cell by cell in id order, like {@link #doPlant(IGrid2DTetragon, GenerationContext)}.
+     */
+    private static final class Stepper implements IStepper2DTetragon {
 
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final int columns;
+        // next cell
+        private int id;
+
+        Stepper(final IGrid2DTetragon grid, final GenerationContext ctx) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.columns = grid.getColumns();
+        }
+
+        @Override
+        public int step(int[] eventA) {
+            if (0 == eventA.length) {
+                throw new IllegalArgumentException("No space for events!");
+            }
+            final RandomGenerator random = ctx.random();
+            final int capacity = grid.getCapacity();
+            int cnt = 0;
+            for (; id < capacity && cnt < eventA.length; id++) {
+                if (!grid.isUnmasked(id)) {
+                    continue;
+                }
+                boolean north = id >= columns && grid.isUnmasked(id - columns);
+                boolean east = (id + 1) % columns != 0 && grid.isUnmasked(id + 1);
+                if (north && east) {
+                    north = random.nextBoolean();
+                    east = !north;
+                }
+                if (north) {
+                    eventA[cnt++] = IStepper2DTetragon.event(id, Direction2DTetragon.NORTH);
+                } else if (east) {
+                    eventA[cnt++] = IStepper2DTetragon.event(id, Direction2DTetragon.EAST);
+                }
             }
+            ctx.metrics().add(GenerationMetrics.Counter.LINKS, cnt);
+            return cnt;
+        }
+
+        @Override
+        public boolean isDone() {
+            return id >= grid.getCapacity();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.Objects;
+
+/**
+ * Eller's algorithm, as described on page 191 of "Mazes for Programmers".
+ * <p>
+ *     The maze is created row by row using {@link EllerRows}.
+ *     With {@link #generate(int, long, GenerationContext, IRowSink)} the rows are passed to a sink
+ *     without a grid, so very tall mazes need memory for two rows only.
+ *     Planting a grid fills the links of each row into the grid.
+ * </p>
+ * @author jTzipi
+ */
+public class Eller2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Receiver of finished rows.
+     */
+    @FunctionalInterface
+    public interface IRowSink {
+
+        /**
+         * Accept a row.
+         * @param row row index
+         * @param linkBits links of each cell as {@link Direction2DTetragon#bit() direction bits}.
+         *                 The array is reused for the following rows
+         */
+        void accept(long row, byte[] linkBits);
+    }
+
+    public Eller2DTetragon() {
+    }
+
+    /**
+     * Create a maze and pass each finished row to a sink.
+     * @param columns columns [1 .. ]
+     * @param rows rows [1 .. ]
+     * @param ctx generation context
+     * @param sink sink of rows
+     * @throws IllegalArgumentException if {@code columns} or {@code rows} &lt; 1
+     * @throws NullPointerException if {@code ctx} or {@code sink}
+     * @throws eu.jpangolin.jpangomaze.core.algo.GenerationAbortedException if a limit of {@code ctx} is hit
+     */
+    public static void generate(int columns, long rows, GenerationContext ctx, IRowSink sink) {
+        Objects.requireNonNull(ctx);
+        Objects.requireNonNull(sink);
+        if (1L > rows) {
+            throw new IllegalArgumentException("Rows[='" + rows + "'] < 1!");
+        }
+        EllerRows ellerRows = new EllerRows(columns, ctx.random());
+        long cells = 0L;
+        for (long ir = 0; ir < rows - 1; ir++) {
+            cells += columns;
+            if (GenerationContext.CHECKPOINT_INTERVAL <= cells) {
+                ctx.checkpoint(cells);
+                cells = 0L;
+            }
+            sink.accept(ir, ellerRows.next());
+        }
+        sink.accept(rows - 1, ellerRows.last());
+
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, ellerRows.getLinks());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if {@code grid} has masked cells
+     */
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (grid.getSize() != grid.getCapacity()) {
+            throw new IllegalArgumentException("Eller's algorithm can not plant a grid with masked cells!");
+        }
+        final int columns = grid.getColumns();
+        final int east = Direction2DTetragon.EAST.bit();
+        final int south = Direction2DTetragon.SOUTH.bit();
+
+        generate(columns, grid.getRows(), ctx, (row, linkBits) -> {
+            int id = (int) row * columns;
+            for (int ic = 0; ic < columns; ic++, id++) {
+                if (0 != (linkBits[ic] & east)) {
+                    grid.link(id, Direction2DTetragon.EAST);
+                }
+                if (0 != (linkBits[ic] & south)) {
+                    grid.link(id, Direction2DTetragon.SOUTH);
+                }
+            }
+        });
+    }
+}
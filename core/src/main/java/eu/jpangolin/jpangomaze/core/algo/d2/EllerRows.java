@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Rows of a maze created one after another with Eller's algorithm.
+ * <p>
+ *     Each call to {@link #next()} returns the links of the next row as {@link Direction2DTetragon#bit() direction bits}.
+ *     A row is finished when returned: its south links are set and the next row has the matching north links.
+ *     {@link #last()} returns the last row which joins all remaining sets.
+ *     There is no limit of rows so this can create endless mazes.
+ * </p>
+ * <p>
+ *     We only store the current and the next row.
+ *     The sets of the row are a union find over labels which are renumbered to [0 .. columns) for each row.
+ *     So memory is O(columns) no matter how many rows we create.
+ * </p>
+ * <p>
+ *     Not thread safe.
+ * </p>
+ * @author jTzipi
+ */
+public final class EllerRows {
+
+    private final int columns;
+    private final RandomGenerator random;
+
+    // set label of each cell of the current row
+    private int[] labelA;
+    // set label of each cell of the next row or -1 for a new set
+    private int[] nextLabelA;
+    // union find of the labels
+    private final int[] parentA;
+    // per label: last column of the set in the row / whether linked south / renumbered label
+    private final int[] lastColumnA;
+    private final boolean[] southA;
+    private final int[] renumberA;
+
+    // links of the current row and the north links of the next row
+    private byte[] rowBits;
+    private byte[] nextRowBits;
+
+    private long row;
+    private long links;
+    private boolean done;
+
+    /**
+     * Eller Rows.
+     * @param columns columns of each row [1 .. ]
+     * @param random random generator
+     * @throws IllegalArgumentException if {@code columns} &lt; 1
+     * @throws NullPointerException if {@code random}
+     */
+    public EllerRows(final int columns, final RandomGenerator random) {
+        if (1 > columns) {
+            throw new IllegalArgumentException("Columns[='" + columns + "'] < 1!");
+        }
+        this.columns = columns;
+        this.random = Objects.requireNonNull(random);
+        this.labelA = new int[columns];
+        this.nextLabelA = new int[columns];
+        this.parentA = new int[columns];
+        this.lastColumnA = new int[columns];
+        this.southA = new boolean[columns];
+        this.renumberA = new int[columns];
+        this.rowBits = new byte[columns];
+        this.nextRowBits = new byte[columns];
+        // each cell of the first row is its own set
+        for (int ic = 0; ic < columns; ic++) {
+            labelA[ic] = ic;
+            parentA[ic] = ic;
+        }
+    }
+
+    /**
+     * Create the next row.
+     * @return links of each cell of the row, valid until the next call
+     * @throws IllegalStateException if the last row was created
+     */
+    public byte[] next() {
+        return row(false);
+    }
+
+    /**
+     * Create the last row.
+     * @return links of each cell of the row
+     * @throws IllegalStateException if the last row was created
+     */
+    public byte[] last() {
+        byte[] bits = row(true);
+        done = true;
+        return bits;
+    }
+
+    /**
+     * Return the number of rows created.
+     * @return rows
+     */
+    public long getRows() {
+        return row;
+    }
+
+    /**
+     * Return the number of links created.
+     * @return links
+     */
+    public long getLinks() {
+        return links;
+    }
+
+    /**
+     * Return the columns of each row.
+     * @return columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    private byte[] row(boolean last) {
+        if (done) {
+            throw new IllegalStateException("Last row created!");
+        }
+        if (0 < row) {
+            // the north links are in the next row bits
+            byte[] tmp = rowBits;
+            rowBits = nextRowBits;
+            nextRowBits = tmp;
+            Arrays.fill(nextRowBits, (byte) 0);
+        }
+
+        // link east if not in the same set
+        // always in the last row
+        for (int ic = 0; ic + 1 < columns; ic++) {
+            int root = find(labelA[ic]);
+            int eastRoot = find(labelA[ic + 1]);
+            if (root != eastRoot && (last || random.nextBoolean())) {
+                rowBits[ic] |= (byte) Direction2DTetragon.EAST.bit();
+                rowBits[ic + 1] |= (byte) Direction2DTetragon.WEST.bit();
+                parentA[eastRoot] = root;
+                links++;
+            }
+        }
+
+        if (!last) {
+            linkSouth();
+        }
+        row++;
+        return rowBits;
+    }
+
+    /**
+     * Link at least one cell of each set south and set the labels of the next row.
+     */
+    private void linkSouth() {
+        for (int ic = 0; ic < columns; ic++) {
+            int root = find(labelA[ic]);
+            lastColumnA[root] = ic;
+            southA[root] = false;
+        }
+        for (int ic = 0; ic < columns; ic++) {
+            int root = find(labelA[ic]);
+            // the last cell of a set links south if no other did
+            if (random.nextBoolean() || (ic == lastColumnA[root] && !southA[root])) {
+                rowBits[ic] |= (byte) Direction2DTetragon.SOUTH.bit();
+                nextRowBits[ic] |= (byte) Direction2DTetragon.NORTH.bit();
+                southA[root] = true;
+                nextLabelA[ic] = root;
+                links++;
+            } else {
+                nextLabelA[ic] = -1;
+            }
+        }
+
+        // renumber the labels to [0 .. columns)
+        Arrays.fill(renumberA, -1);
+        int cnt = 0;
+        for (int ic = 0; ic < columns; ic++) {
+            int label = nextLabelA[ic];
+            if (0 <= label) {
+                if (0 > renumberA[label]) {
+                    renumberA[label] = cnt++;
+                }
+                nextLabelA[ic] = renumberA[label];
+            }
+        }
+        for (int ic = 0; ic < columns; ic++) {
+            if (0 > nextLabelA[ic]) {
+                nextLabelA[ic] = cnt++;
+            }
+        }
+        for (int i = 0; i < columns; i++) {
+            parentA[i] = i;
+        }
+        int[] tmp = labelA;
+        labelA = nextLabelA;
+        nextLabelA = tmp;
+    }
+
+    private int find(int label) {
+        while (parentA[label] != label) {
+            // path halving
+            parentA[label] = parentA[parentA[label]];
+            label = parentA[label];
+        }
+        return label;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.util.IntRankList;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Growing tree, as described on page 223 of "Mazes for Programmers".
+ * <p>
+ *     We keep the active cells in an {@link IntRankList} ordered from oldest to newest.
+ *     Each step a {@link ISelector selector} chooses an active cell which is linked to a random unvisited neighbour.
+ *     If the cell has no unvisited neighbour it is removed.
+ *     Selecting the newest cell is the recursive backtracker, selecting a random cell is simplified Prim.
+ * </p>
+ * <p>
+ *     A cell removed from the middle keeps the order of the others, so the newest cell is always the last one,
+ *     and each step is O(log n).
+ * </p>
+ * @implNote If the unmasked cells are not connected we only plant the part of the first cell.
+ * @author jTzipi
+ */
+public class GrowingTree2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Selection of the active cell.
+     */
+    @FunctionalInterface
+    public interface ISelector {
+
+        /**
+         * Newest cell.
+         */
+        ISelector NEWEST = (size, random) -> size - 1;
+        /**
+         * Oldest cell.
+         */
+        ISelector OLDEST = (size, random) -> 0;
+        /**
+         * Random cell.
+         */
+        ISelector RANDOM = (size, random) -> random.nextInt(size);
+
+        /**
+         * Select an active cell.
+         * @param size number of active cells &gt; 0
+         * @param random random
+         * @return index of the cell [0 .. size) where 0 is the oldest
+         */
+        int select(int size, RandomGenerator random);
+
+        /**
+         * Mix of two selectors.
+         * @param first selector
+         * @param probability probability of the first selector [0 .. 1]
+         * @param second selector
+         * @return selector using {@code first} with {@code probability} and else {@code second}
+         * @throws IllegalArgumentException if {@code probability} is not in [0 .. 1]
+         * @throws NullPointerException if {@code first} or {@code second}
+         */
+        static ISelector mix(ISelector first, double probability, ISelector second) {
+            Objects.requireNonNull(first);
+            Objects.requireNonNull(second);
+            if (!(0D <= probability && probability <= 1D)) {
+                throw new IllegalArgumentException("Probability[=" + probability + "] not in [0 .. 1]");
+            }
+            return (size, random) -> random.nextDouble() < probability
+                    ? first.select(size, random)
+                    : second.select(size, random);
+        }
+    }
+
+    private final ISelector selector;
+
+    /**
+     * Growing tree selecting the newest cell with probability 0.5 and else a random cell.
+     */
+    public GrowingTree2DTetragon() {
+        this(ISelector.mix(ISelector.NEWEST, 0.5D, ISelector.RANDOM));
+    }
+
+    /**
+     * Growing tree.
+     * @param selector selection of the active cell
+     * @throws NullPointerException if {@code selector}
+     */
+    public GrowingTree2DTetragon(final ISelector selector) {
+        this.selector = Objects.requireNonNull(selector);
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        final RandomGenerator random = ctx.random();
+        final int columns = grid.getColumns();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final IntRankList active = new IntRankList(grid.getSize());
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        long pushes = 1L;
+        long steps = 0L;
+
+        int start = grid.cellId(grid.getRandomCell(random));
+        visited.set(start);
+        active.add(start);
+
+        while (!active.isEmpty()) {
+            if (0 == (++steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            final int index = selector.select(active.size(), random);
+            final int id = active.get(index);
+            // unvisited and unmasked neighbours
+            int cnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+
+            if (0 == cnt) {
+                active.removeAt(index);
+            } else {
+                Direction2DTetragon dir = dirA[random.nextInt(cnt)];
+                int nb = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                grid.link(id, dir);
+                visited.set(nb);
+                active.add(nb);
+                pushes++;
+            }
+        }
+
+        // each active cell is removed once and all but the first are linked
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.QUEUE_PUSHES, pushes);
+        metrics.add(GenerationMetrics.Counter.QUEUE_POPS, pushes);
+        metrics.add(GenerationMetrics.Counter.LINKS, pushes - 1);
+    }
+}
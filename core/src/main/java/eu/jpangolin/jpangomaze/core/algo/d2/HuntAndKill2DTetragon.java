@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hunt-and-Kill, as described on page 67 of "Mazes for Programmers".
+ * <p>
+ *     We walk randomly to unvisited neighbours (kill) until we are stuck.
+ *     Then we look for an unvisited cell next to a visited cell (hunt),
+ *     link them and walk on from there.
+ * </p>
+ * <p>
+ *     The textbook hunt scans the grid from the first row each time.
+ *     We keep the frontier, that is the unvisited cells next to a visited cell, in a bitmap
+ *     together with the lowest id the frontier may have. The hunt takes the first frontier cell,
+ *     the same cell the textbook scan finds, without scanning visited, masked or unreachable cells again and again.
+ * </p>
+ * @implNote If the unmasked cells are not connected we only plant the part of the first cell.
+ * @author jTzipi
+ */
+public class HuntAndKill2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    public HuntAndKill2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        final RandomGenerator random = ctx.random();
+        final int columns = grid.getColumns();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        final BitSet frontier = new BitSet(grid.getCapacity());
+        long steps = 0L;
+        long links = 0L;
+
+        int id = grid.cellId(grid.getRandomCell(random));
+        // lowest id the frontier may have
+        int huntFrom = visit(grid, visited, frontier, id, dirA);
+
+        while (IGrid.NO_CELL != id) {
+            // kill
+            int cnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+            if (0 < cnt) {
+                Direction2DTetragon dir = dirA[random.nextInt(cnt)];
+                grid.link(id, dir);
+                links++;
+                steps++;
+                if (0 == (steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                    ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+                }
+                id = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                huntFrom = Math.min(huntFrom, visit(grid, visited, frontier, id, dirA));
+                continue;
+            }
+
+            // hunt
+            id = frontier.nextSetBit(huntFrom);
+            if (0 > id) {
+                id = IGrid.NO_CELL;
+                continue;
+            }
+            huntFrom = id;
+            int visitedCnt = Neighbours2DTetragon.visited(grid, visited, id, dirA);
+            grid.link(id, dirA[random.nextInt(visitedCnt)]);
+            links++;
+            huntFrom = Math.min(huntFrom, visit(grid, visited, frontier, id, dirA));
+        }
+
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.WALK_STEPS, steps);
+        metrics.add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Visit a cell and add its unvisited neighbours to the frontier.
+     * @param grid grid
+     * @param visited visited cells
+     * @param frontier unvisited cells next to a visited cell
+     * @param id cell id
+     * @param dirA array for the directions
+     * @return lowest id added to the frontier or {@link Integer#MAX_VALUE}
+     */
+    private static int visit(IGrid2DTetragon grid, BitSet visited, BitSet frontier, int id, Direction2DTetragon[] dirA) {
+        visited.set(id);
+        frontier.clear(id);
+        int lowest = Integer.MAX_VALUE;
+        int cnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+        for (int i = 0; i < cnt; i++) {
+            int nb = Neighbours2DTetragon.neighbourId(id, grid.getColumns(), dirA[i]);
+            frontier.set(nb);
+            lowest = Math.min(lowest, nb);
+        }
+        return lowest;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+/**
+ * Algorithm which can run step by step.
+ * <p>
+ *     Applying all events of a stepper creates the same maze as planting with a context of the same seed.
+ * </p>
+ * @author jTzipi
+ */
+public interface ISteppable2DTetragon {
+
+    /**
+     * Create a stepper.
+     * <p>
+     *     The {@link eu.jpangolin.jpangomaze.core.algo.GenerationMetrics.Counter#LINKS links} are counted
+     *     in the metrics of {@code ctx}. The metrics are not published.
+     * </p>
+     * @param grid grid
+     * @param ctx generation context
+     * @return stepper
+     * @throws NullPointerException if {@code grid} or {@code ctx}
+     * @throws IllegalArgumentException if the capacity of {@code grid} &gt; {@link IStepper2DTetragon#MAX_CELLS}
+     */
+    IStepper2DTetragon stepper(IGrid2DTetragon grid, GenerationContext ctx);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.Objects;
+
+/**
+ * Algorithm running step by step, emitting links instead of changing the grid.
+ * <p>
+ *     Each call of {@link #step(int[])} runs the algorithm until the array is full of link events or the maze is done.
+ *     A link event is the {@code int} {@code id << 2 | direction ordinal}
+ *     meaning that cell {@code id} is linked to its neighbour in {@code direction}.
+ *     So a consumer can write or render the first links while the algorithm is still running.
+ *     Events hold ids less than {@link #MAX_CELLS} only, so steppers refuse larger grids.
+ * </p>
+ * <p>
+ *     The grid is only read by the stepper and must not change its size or mask while stepping.
+ *     Use {@link #apply(IGrid2DTetragon, int[], int)} to link the events.
+ * </p>
+ * @author jTzipi
+ */
+public interface IStepper2DTetragon {
+
+    /**
+     * Max capacity of a grid a stepper can emit events for.
+     */
+    int MAX_CELLS = 1 << 30;
+
+    /**
+     * Throw if a grid is too large for link events.
+     * @param grid grid
+     * @throws NullPointerException if {@code grid}
+     * @throws IllegalArgumentException if the capacity of {@code grid} &gt; {@link #MAX_CELLS}
+     */
+    static void checkCapacity(IGrid2DTetragon grid) {
+        Objects.requireNonNull(grid);
+        if (MAX_CELLS < grid.getCapacity()) {
+            throw new IllegalArgumentException("Grid capacity[=" + grid.getCapacity() + "] > " + MAX_CELLS + " can not be stepped");
+        }
+    }
+
+    /**
+     * Create a link event.
+     * @param id cell id [0 .. {@link #MAX_CELLS})
+     * @param direction direction of the linked neighbour
+     * @return event
+     */
+    static int event(int id, Direction2DTetragon direction) {
+        return id << 2 | direction.ordinal();
+    }
+
+    /**
+     * Return the cell id of a link event.
+     * @param event event
+     * @return cell id
+     */
+    static int idOf(int event) {
+        return event >>> 2;
+    }
+
+    /**
+     * Return the direction of a link event.
+     * @param event event
+     * @return direction
+     */
+    static Direction2DTetragon directionOf(int event) {
+        return Direction2DTetragon.of(event & 3);
+    }
+
+    /**
+     * Link the cells of events.
+     * @param grid grid
+     * @param eventA events
+     * @param cnt number of events [0 .. eventA.length]
+     * @throws NullPointerException if {@code grid} or {@code eventA}
+     */
+    static void apply(IGrid2DTetragon grid, int[] eventA, int cnt) {
+        Objects.requireNonNull(grid);
+        Objects.checkFromToIndex(0, cnt, eventA.length);
+        for (int i = 0; i < cnt; i++) {
+            grid.link(idOf(eventA[i]), directionOf(eventA[i]));
+        }
+    }
+
+    /**
+     * Run the algorithm until {@code eventA} is full or the maze is done.
+     * @param eventA array for the link events
+     * @return number of events written, 0 only if done
+     * @throws IllegalArgumentException if {@code eventA} is empty
+     */
+    int step(int[] eventA);
+
+    /**
+     * Return whether the maze is done.
+     * @return {@code true} if all links are emitted
+     */
+    boolean isDone();
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.util.IntUnionFind;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Randomized Kruskal, as described on page 209 of "Mazes for Programmers".
+ * <p>
+ *     We shuffle all edges between unmasked cells and link each edge whose cells are not connected yet.
+ *     An edge is the {@code int} {@code id << 1} for the east and {@code id << 1 | 1} for the south neighbour of cell {@code id}.
+ *     Since a cell id is less than 2<sup>31</sup> the edge is read as an unsigned {@code int} by {@code edge >>> 1}.
+ *     All edges are kept in one array, so the grid may have {@link #MAX_EDGES} edges at most.
+ *     The regions are kept in an {@link IntUnionFind} over the cell ids.
+ * </p>
+ * <p>
+ *     Links already in the grid are joined before, so a grid with rooms or corridors linked by the caller
+ *     is completed to a maze around them.
+ *     If these links contain a cycle the maze is not perfect.
+ * </p>
+ * @author jTzipi
+ */
+public class Kruskal2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Max edges between the cells of a grid.
+     */
+    public static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    public Kruskal2DTetragon() {
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if {@code grid} has more than {@link #MAX_EDGES} edges
+     */
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final IntUnionFind regions = regions(grid);
+        final int[] edgeA = edges(grid);
+        shuffle(edgeA, ctx.random());
+
+        final int target = grid.getCapacity() - grid.getSize() + 1;
+        long links = 0L;
+        for (int i = 0; i < edgeA.length && regions.sets() > target; i++) {
+            if (0 == (i & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            if (link(grid, regions, edgeA[i])) {
+                links++;
+            }
+        }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Link an edge if its cells are not connected.
+     * @param grid grid
+     * @param regions regions
+     * @param edge edge
+     * @return {@code true} if linked
+     */
+    static boolean link(IGrid2DTetragon grid, IntUnionFind regions, int edge) {
+        int id = edge >>> 1;
+        Direction2DTetragon dir = direction(edge);
+        if (!regions.union(id, grid.neighbourId(id, dir))) {
+            return false;
+        }
+        grid.link(id, dir);
+        return true;
+    }
+
+    /**
+     * Return the other cell of an edge.
+     * @param grid grid
+     * @param edge edge
+     * @return cell id
+     */
+    static int neighbourId(IGrid2DTetragon grid, int edge) {
+        return grid.neighbourId(edge >>> 1, direction(edge));
+    }
+
+    private static Direction2DTetragon direction(int edge) {
+        return 0 == (edge & 1) ? Direction2DTetragon.EAST : Direction2DTetragon.SOUTH;
+    }
+
+    /**
+     * Return the regions of the grid with the cells joined by the links of the grid.
+     * @param grid grid
+     * @return regions
+     */
+    static IntUnionFind regions(IGrid2DTetragon grid) {
+        final IntUnionFind regions = new IntUnionFind(grid.getCapacity());
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            if (grid.isLinked(id, Direction2DTetragon.EAST)) {
+                regions.union(id, id + 1);
+            }
+            if (grid.isLinked(id, Direction2DTetragon.SOUTH)) {
+                regions.union(id, id + grid.getColumns());
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Return all edges between unmasked cells in id order.
+     * @param grid grid
+     * @return edges
+     * @throws IllegalArgumentException if {@code grid} has more than {@link #MAX_EDGES} edges
+     */
+    static int[] edges(IGrid2DTetragon grid) {
+        final int[] edgeA = new int[maxEdges(grid.getRows(), grid.getColumns())];
+        int cnt = 0;
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            if (!grid.isUnmasked(id)) {
+                continue;
+            }
+            int east = grid.neighbourId(id, Direction2DTetragon.EAST);
+            if (IGrid.NO_CELL != east && grid.isUnmasked(east)) {
+                edgeA[cnt++] = id << 1;
+            }
+            int south = grid.neighbourId(id, Direction2DTetragon.SOUTH);
+            if (IGrid.NO_CELL != south && grid.isUnmasked(south)) {
+                edgeA[cnt++] = id << 1 | 1;
+            }
+        }
+        return Arrays.copyOf(edgeA, cnt);
+    }
+
+    /**
+     * Return the number of edges between the cells of an unmasked grid.
+     * @param rows rows
+     * @param columns columns
+     * @return edges
+     * @throws IllegalArgumentException if there are more than {@link #MAX_EDGES} edges
+     */
+    static int maxEdges(int rows, int columns) {
+        long edges = (long) rows * (columns - 1) + (long) (rows - 1) * columns;
+        if (MAX_EDGES < edges) {
+            throw new IllegalArgumentException("Grid[=" + rows + "x" + columns + "] has more than " + MAX_EDGES + " edges");
+        }
+        return (int) edges;
+    }
+
+    /**
+     * Fisher-Yates shuffle.
+     * @param edgeA edges
+     * @param random random
+     */
+    static void shuffle(int[] edgeA, RandomGenerator random) {
+        for (int i = edgeA.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = edgeA[i];
+            edgeA[i] = edgeA[j];
+            edgeA[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.IPlantable;
+import eu.jpangolin.jpangomaze.core.algo.PlantStatus;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2D;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generate a batch of mazes concurrently.
+ * <p>
+ *     Each {@link Spec} is planted in its own virtual thread. At most {@link #getConcurrency() concurrency}
+ *     mazes are in flight, that is planted or planted but not yet taken from the result stream.
+ *     So a slow consumer holds back the generation and never more than {@code concurrency} grids
+ *     are kept in memory.
+ * </p>
+ * <p>
+ *     The results are streamed in order of completion.
+ *     The stream should be closed, for example with try-with-resources, if it is not consumed to the end.
+ *     Closing cancels all mazes in flight.
+ * </p>
+ * <pre>{@code
+ * try (Stream<Result> results = MazeFactory2DTetragon.of(8).generate(specs)) {
+ *     results.forEach(result -> store(result));
+ * }
+ * }</pre>
+ * @author jTzipi
+ */
+public final class MazeFactory2DTetragon {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MazeFactory2DTetragon.class);
+    private final int concurrency;
+
+    private MazeFactory2DTetragon(final int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Create a factory planting one maze per processor at a time.
+     * @return factory
+     */
+    public static MazeFactory2DTetragon of() {
+        return new MazeFactory2DTetragon(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a factory.
+     * @param concurrency max mazes in flight
+     * @return factory
+     * @throws IllegalArgumentException if {@code concurrency} &lt; 1
+     */
+    public static MazeFactory2DTetragon of(int concurrency) {
+        if (1 > concurrency) {
+            throw new IllegalArgumentException("Concurrency[='" + concurrency + "'] must be > 0");
+        }
+        return new MazeFactory2DTetragon(concurrency);
+    }
+
+    /**
+     * Return the max number of mazes in flight.
+     * @return concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Generate a batch of mazes.
+     * <p>
+     *     Generation starts at once. A spec failing with an exception or error is reported as a failed {@link Result}
+     *     and does not stop the batch.
+     * </p>
+     * @param specs specs
+     * @return stream of results in order of completion
+     * @throws NullPointerException if {@code specs} or a spec is {@code null}
+     */
+    public Stream<Result> generate(List<Spec> specs) {
+        List<Spec> specL = List.copyOf(specs);
+        Batch batch = new Batch(specL.size(), concurrency);
+        batch.start(specL);
+        return StreamSupport.stream(Spliterators.spliterator(batch, specL.size(), Spliterator.NONNULL), false)
+                .onClose(batch::close);
+    }
+
+    /**
+     * Grid type.
+     */
+    public enum GridType {
+        /** {@link Grid2DTetragon} with a cell object per location. */
+        OBJECT(Grid2DTetragon::of),
+        /** {@link PackedGrid2DTetragon} with the links in a packed array. */
+        PACKED(PackedGrid2DTetragon::of);
+
+        private final BiFunction<Integer, Integer, IGrid2DTetragon> gridFactory;
+
+        GridType(final BiFunction<Integer, Integer, IGrid2DTetragon> gridFactory) {
+            this.gridFactory = gridFactory;
+        }
+
+        /**
+         * Create a grid of this type.
+         * @param rows rows
+         * @param columns columns
+         * @return grid
+         */
+        public IGrid2DTetragon create(int rows, int columns) {
+            return gridFactory.apply(rows, columns);
+        }
+    }
+
+    /**
+     * Generation spec.
+     * <p>
+     *     The algorithm is a supplier so each maze is planted by its own instance.
+     * </p>
+     * @param gridType grid type
+     * @param rows rows
+     * @param columns columns
+     * @param mask applied to the mask of the new grid before planting
+     * @param algorithm supplier of the algorithm
+     * @param seed seed of the {@link GenerationContext}
+     */
+    public record Spec(GridType gridType, int rows, int columns, Consumer<IGrid2D.IMask2D> mask,
+                       Supplier<? extends IPlantable<IGrid2DTetragon, ICell2DTetragon>> algorithm, long seed) {
+
+        /**
+         * Spec.
+         * @throws NullPointerException if {@code gridType}, {@code mask} or {@code algorithm}
+         */
+        public Spec {
+            Objects.requireNonNull(gridType);
+            Objects.requireNonNull(mask);
+            Objects.requireNonNull(algorithm);
+        }
+
+        /**
+         * Create a spec for an unmasked grid.
+         * @param gridType grid type
+         * @param rows rows
+         * @param columns columns
+         * @param algorithm supplier of the algorithm
+         * @param seed seed
+         * @return spec
+         * @throws NullPointerException if {@code gridType} or {@code algorithm}
+         */
+        public static Spec of(GridType gridType, int rows, int columns,
+                              Supplier<? extends IPlantable<IGrid2DTetragon, ICell2DTetragon>> algorithm, long seed) {
+            return new Spec(gridType, rows, columns, mask -> {}, algorithm, seed);
+        }
+    }
+
+    /**
+     * Result of a spec.
+     * @param spec spec
+     * @param grid planted grid or {@code null} if failed
+     * @param status plant status or {@code null} if failed
+     * @param failure exception or error thrown or {@code null}
+     */
+    public record Result(Spec spec, IGrid2DTetragon grid, PlantStatus status, Throwable failure) {
+
+        /**
+         * Return whether the maze was planted completely.
+         * @return {@code true} if completed
+         */
+        public boolean isCompleted() {
+            return null != status && status.isCompleted();
+        }
+    }
+
+    /**
+     * A running batch and the iterator over its results.
+     */
+    private static final class Batch implements Iterator<Result> {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final BlockingQueue<Result> doneQ = new LinkedBlockingQueue<>();
+        private final Set<GenerationContext> runningS = ConcurrentHashMap.newKeySet();
+        private final Semaphore permits;
+        private final int size;
+        private int taken;
+        private volatile boolean closed;
+
+        Batch(final int size, final int concurrency) {
+            this.size = size;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        void start(List<Spec> specL) {
+            executor.execute(() -> {
+                for (Spec spec : specL) {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                    if (closed) {
+                        return;
+                    }
+                    executor.execute(() -> doneQ.add(run(spec)));
+                }
+            });
+        }
+
+        private Result run(Spec spec) {
+            GenerationContext ctx = GenerationContext.ofSeed(spec.seed());
+            runningS.add(ctx);
+            // closed before we were registered
+            if (closed) {
+                ctx.cancel();
+            }
+            try {
+                IGrid2DTetragon grid = spec.gridType().create(spec.rows(), spec.columns());
+                spec.mask().accept(grid.getMask());
+                PlantStatus status = spec.algorithm().get().plant(grid, ctx);
+                return new Result(spec, grid, status, null);
+            } catch (Throwable e) {
+                // errors too, else the consumer waits forever for this result
+                LOG.warn("Failed to generate {}", spec, e);
+                return new Result(spec, null, null, e);
+            } finally {
+                runningS.remove(ctx);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (taken < size) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (closed) {
+                throw new IllegalStateException("Batch closed");
+            }
+            Result result;
+            try {
+                result = doneQ.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting for a maze", ie);
+            }
+            taken++;
+            permits.release();
+            return result;
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            runningS.forEach(GenerationContext::cancel);
+            executor.shutdownNow();
+        }
+    }
+}
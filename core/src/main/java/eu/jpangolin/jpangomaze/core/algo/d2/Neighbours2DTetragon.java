@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.BitSet;
+
+/**
+ * Collect the directions to the neighbours of a cell by cell id.
+ * <p>
+ *     The directions are written to an array in the order north, east, west, south
+ *     so a random pick from the array is the same for all algorithms.
+ * </p>
+ * @author jTzipi
+ */
+final class Neighbours2DTetragon {
+
+    private Neighbours2DTetragon() {
+        throw new AssertionError("\n???");
+    }
+
+    /**
+     * Collect the directions to unmasked neighbours not visited.
+     * @param grid grid
+     * @param visited visited cells
+     * @param id cell id
+     * @param dirA array for the directions
+     * @return number of directions
+     */
+    static int unvisited(IGrid2DTetragon grid, BitSet visited, int id, Direction2DTetragon[] dirA) {
+        return collect(grid, visited, false, true, id, dirA);
+    }
+
+    /**
+     * Collect the directions to unmasked neighbours visited.
+     * @param grid grid
+     * @param visited visited cells
+     * @param id cell id
+     * @param dirA array for the directions
+     * @return number of directions
+     */
+    static int visited(IGrid2DTetragon grid, BitSet visited, int id, Direction2DTetragon[] dirA) {
+        return collect(grid, visited, true, true, id, dirA);
+    }
+
+    /**
+     * Collect the directions to unmasked neighbours.
+     * @param grid grid
+     * @param unmasked whether the grid has no masked cells, so we can skip the mask
+     * @param id cell id
+     * @param dirA array for the directions
+     * @return number of directions
+     * @throws IllegalStateException if the cell has no unmasked neighbour
+     */
+    static int traversable(IGrid2DTetragon grid, boolean unmasked, int id, Direction2DTetragon[] dirA) {
+        int cnt = collect(grid, null, false, !unmasked, id, dirA);
+        if (0 == cnt) {
+            throw new IllegalStateException("Cell '" + id + "' has no unmasked neighbour!");
+        }
+        return cnt;
+    }
+
+    /**
+     * Return the id of the neighbour in a direction without bound check.
+     * @param id cell id
+     * @param columns columns of the grid
+     * @param direction direction
+     * @return neighbour id
+     */
+    static int neighbourId(int id, int columns, Direction2DTetragon direction) {
+        return id + direction.rowDelta() * columns + direction.columnDelta();
+    }
+
+    private static int collect(IGrid2DTetragon grid, BitSet visited, boolean isVisited, boolean masked, int id, Direction2DTetragon[] dirA) {
+        final int columns = grid.getColumns();
+        final int row = id / columns;
+        final int column = id - row * columns;
+        int cnt = 0;
+        if (0 < row && matches(grid, visited, isVisited, masked, id - columns)) {
+            dirA[cnt++] = Direction2DTetragon.NORTH;
+        }
+        if (column + 1 < columns && matches(grid, visited, isVisited, masked, id + 1)) {
+            dirA[cnt++] = Direction2DTetragon.EAST;
+        }
+        if (0 < column && matches(grid, visited, isVisited, masked, id - 1)) {
+            dirA[cnt++] = Direction2DTetragon.WEST;
+        }
+        if (row + 1 < grid.getRows() && matches(grid, visited, isVisited, masked, id + columns)) {
+            dirA[cnt++] = Direction2DTetragon.SOUTH;
+        }
+        return cnt;
+    }
+
+    // visited null: any visited state
+    // masked false: the grid has no masked cells
+    private static boolean matches(IGrid2DTetragon grid, BitSet visited, boolean isVisited, boolean masked, int id) {
+        return (null == visited || visited.get(id) == isVisited) && (!masked || grid.isUnmasked(id));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Binary tree algo running on the common fork/join pool.
+ * <p>
+ *     Each cell links to its north or east neighbour independent of all other cells.
+ *     So we split the grid into bands of rows and plant each band in its own task.
+ * </p>
+ * <p>
+ *     A band writes only to its own cells.
+ *     The north links of the first row of a band would touch the band above,
+ *     so we store them and link them after all bands are done.
+ * </p>
+ * <p>
+ *     The bands depend on the grid size only and each band gets its own random generator
+ *     split from the context in band order.
+ *     Therefore the maze for a seed does not depend on the number of threads.
+ * </p>
+ * @author jTzipi
+ */
+public class ParallelBinaryTree2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Cells of a band, roughly.
+     */
+    static final int BAND_CELLS = 1 << 14;
+
+    public ParallelBinaryTree2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final int rows = grid.getRows();
+        final int columns = grid.getColumns();
+        final int bandRows = Math.max(1, BAND_CELLS / columns);
+        final int bands = (rows + bandRows - 1) / bandRows;
+
+        final Band[] bandA = new Band[bands];
+        for (int b = 0; b < bands; b++) {
+            int fromRow = b * bandRows;
+            bandA[b] = new Band(fromRow, Math.min(rows, fromRow + bandRows), ctx.random().split());
+        }
+
+        ForkJoinPool.commonPool().invoke(new BandTask(grid, ctx, bandA, 0, bands));
+
+        // now all tasks are done and we can link the first rows to the north
+        long links = 0L;
+        for (Band band : bandA) {
+            for (int i = 0; i < band.northCnt; i++) {
+                grid.link(band.northIds[i], Direction2DTetragon.NORTH);
+            }
+            links += band.links + band.northCnt;
+        }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Plant the binary tree on a band.
+     * @param grid grid
+     * @param band band
+     */
+    private static void plantBand(IGrid2DTetragon grid, Band band) {
+        final int columns = grid.getColumns();
+        final RandomGenerator random = band.random;
+
+        for (int ir = band.fromRow; ir < band.toRow; ir++) {
+            for (int ic = 0; ic < columns; ic++) {
+                int id = ir * columns + ic;
+                if (!grid.isUnmasked(id)) {
+                    continue;
+                }
+                int nn = grid.neighbourId(id, Direction2DTetragon.NORTH);
+                int ne = grid.neighbourId(id, Direction2DTetragon.EAST);
+                boolean north = IGrid.NO_CELL != nn && grid.isUnmasked(nn);
+                boolean east = IGrid.NO_CELL != ne && grid.isUnmasked(ne);
+
+                if (north && east) {
+                    north = random.nextBoolean();
+                    east = !north;
+                }
+
+                if (north) {
+                    if (ir == band.fromRow) {
+                        band.northIds[band.northCnt++] = id;
+                    } else {
+                        grid.link(id, Direction2DTetragon.NORTH);
+                        band.links++;
+                    }
+                } else if (east) {
+                    grid.link(id, Direction2DTetragon.EAST);
+                    band.links++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows [{@code fromRow} .. {@code toRow}) with own random generator and results.
+     */
+    private static final class Band {
+
+        private final int fromRow;
+        private final int toRow;
+        private final RandomGenerator random;
+        // north links of the first row
+        private int[] northIds;
+        private int northCnt;
+        private long links;
+
+        Band(final int fromRow, final int toRow, final RandomGenerator random) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.random = random;
+        }
+    }
+
+    /**
+     * Task planting bands [{@code from} .. {@code to}).
+     */
+    // tasks are only run on the fork/join pool and never serialized
+    @SuppressWarnings("serial")
+    private static final class BandTask extends RecursiveAction {
+
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final Band[] bandA;
+        private final int from;
+        private final int to;
+
+        BandTask(final IGrid2DTetragon grid, final GenerationContext ctx, final Band[] bandA, final int from, final int to) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.bandA = bandA;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                Band band = bandA[from];
+                ctx.checkpoint((long) (band.toRow - band.fromRow) * grid.getColumns());
+                band.northIds = new int[grid.getColumns()];
+                plantBand(grid, band);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BandTask(grid, ctx, bandA, from, mid), new BandTask(grid, ctx, bandA, mid, to));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.util.IntUnionFind;
+
+import java.util.stream.IntStream;
+
+/**
+ * Randomized Kruskal filtering the edges in parallel, like filter-Kruskal.
+ * <p>
+ *     After the first batch of shuffled edges most cells are connected and most later edges would be dropped.
+ *     So we split the rest of the edges into batches of growing size, drop the edges of a batch whose cells
+ *     are already connected in parallel and link the remaining edges in order like {@link Kruskal2DTetragon}.
+ *     The filter only reads the union find while no edge is linked.
+ * </p>
+ * <p>
+ *     The edges are linked in the same order as by {@link Kruskal2DTetragon},
+ *     so both create the same maze for the same seed.
+ * </p>
+ * @author jTzipi
+ */
+public class ParallelKruskal2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Minimal batch size.
+     */
+    static final int MIN_BATCH = 1 << 12;
+
+    public ParallelKruskal2DTetragon() {
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if {@code grid} has more than {@link Kruskal2DTetragon#MAX_EDGES} edges
+     */
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final IntUnionFind regions = Kruskal2DTetragon.regions(grid);
+        final int[] edgeA = Kruskal2DTetragon.edges(grid);
+        Kruskal2DTetragon.shuffle(edgeA, ctx.random());
+
+        final int target = grid.getCapacity() - grid.getSize() + 1;
+        long links = 0L;
+
+        // the first batch has nearly one edge per cell and is not filtered
+        int from = Math.min(edgeA.length, Math.max(MIN_BATCH, grid.getSize()));
+        for (int i = 0; i < from && regions.sets() > target; i++) {
+            if (0 == (i & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            if (Kruskal2DTetragon.link(grid, regions, edgeA[i])) {
+                links++;
+            }
+        }
+
+        int batch = from;
+        while (from < edgeA.length && regions.sets() > target) {
+            ctx.checkpoint(batch);
+            final int to = (int) Math.min(edgeA.length, (long) from + batch);
+            final int[] keptA = IntStream.range(from, to)
+                    .parallel()
+                    .map(i -> edgeA[i])
+                    .filter(edge -> regions.root(edge >>> 1) != regions.root(Kruskal2DTetragon.neighbourId(grid, edge)))
+                    .toArray();
+
+            for (int i = 0; i < keptA.length && regions.sets() > target; i++) {
+                if (Kruskal2DTetragon.link(grid, regions, keptA[i])) {
+                    links++;
+                }
+            }
+            from = to;
+            batch *= 2;
+        }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sidewinder Algorithm processing rows in parallel on the common fork/join pool.
+ * <p>
+ *     The runs of a row depend only on the row itself.
+ *     The one link leaving a run goes to the row above.
+ *     So a row writes to its own cells and the cells of the row above.
+ *     We plant all even rows in parallel first and then all odd rows,
+ *     thus no two rows planted at the same time write to the same cell.
+ * </p>
+ * <p>
+ *     Each task splits a random generator for its second half before it forks,
+ *     the rows of a task share one generator.
+ *     The tasks depend on the size of the grid only,
+ *     therefore the maze for a seed does not depend on the number of threads.
+ * </p>
+ * <p>
+ *     A run is tracked by the column it starts at and the number of its cells
+ *     with an unmasked north neighbour.
+ *     Masked cells end a run. A run is only closed by chance if one of its cells
+ *     can be linked to the north and the north link is chosen among those cells.
+ *     As with {@link Sidewinder2DTetragon} a run without any such cell is not
+ *     linked to the north, so some masks leave cells unreachable.
+ * </p>
+ * @author jTzipi
+ */
+public class ParallelSidewinder2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Cells planted by one task, roughly.
+     */
+    static final int TASK_CELLS = 1 << 14;
+
+    public ParallelSidewinder2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final int rows = grid.getRows();
+        final long[] linkA = new long[rows];
+        final int taskRows = Math.max(1, TASK_CELLS / grid.getColumns());
+
+        // even rows then odd rows
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(new RowTask(grid, ctx, ctx.random().split(), linkA, 0, rows, taskRows));
+        pool.invoke(new RowTask(grid, ctx, ctx.random().split(), linkA, 1, rows, taskRows));
+
+        long links = 0L;
+        for (long rowLinks : linkA) {
+            links += rowLinks;
+        }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Plant one row.
+     * @param grid grid
+     * @param row row
+     * @param random random generator
+     * @return links
+     */
+    static long plantRow(IGrid2DTetragon grid, int row, RandomGenerator random) {
+        final int columns = grid.getColumns();
+        final int base = row * columns;
+        // the first row has no row above
+        final boolean north = 0 < row;
+        long links = 0L;
+        int runStart = 0;
+        // cells of the run we can link to the north
+        int runNorth = 0;
+
+        for (int ic = 0; ic < columns; ic++) {
+            int id = base + ic;
+            if (!grid.isUnmasked(id)) {
+                runStart = ic + 1;
+                runNorth = 0;
+                continue;
+            }
+            if (north && grid.isUnmasked(id - columns)) {
+                runNorth++;
+            }
+            boolean eastOpen = ic + 1 < columns && grid.isUnmasked(id + 1);
+            // a run without a way north goes on to the east if possible
+            boolean close = !eastOpen || (0 < runNorth && random.nextBoolean());
+
+            if (close) {
+                if (0 < runNorth) {
+                    linkRunNorth(grid, base + runStart, ic - runStart + 1, runNorth, random);
+                    links++;
+                }
+                runStart = ic + 1;
+                runNorth = 0;
+            } else {
+                grid.link(id, Direction2DTetragon.EAST);
+                links++;
+            }
+        }
+        return links;
+    }
+
+    /**
+     * Link a random cell of a run to the north.
+     * @param grid grid
+     * @param firstId id of the first cell of the run
+     * @param len cells of the run
+     * @param northCnt cells of the run with an unmasked north neighbour
+     * @param random random generator
+     */
+    private static void linkRunNorth(IGrid2DTetragon grid, int firstId, int len, int northCnt, RandomGenerator random) {
+        final int columns = grid.getColumns();
+        // without masked cells each cell of the run
+        if (northCnt == len) {
+            grid.link(firstId + random.nextInt(len), Direction2DTetragon.NORTH);
+            return;
+        }
+        int pick = random.nextInt(northCnt);
+        for (int id = firstId; ; id++) {
+            if (grid.isUnmasked(id - columns) && 0 == pick--) {
+                grid.link(id, Direction2DTetragon.NORTH);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Task planting every second row of [{@code from} .. {@code to}).
+     */
+    // tasks are only run on the fork/join pool and never serialized
+    @SuppressWarnings("serial")
+    private static final class RowTask extends RecursiveAction {
+
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final RandomGenerator.SplittableGenerator random;
+        private final long[] linkA;
+        // first row, even or odd
+        private final int from;
+        private final int to;
+        private final int taskRows;
+
+        RowTask(final IGrid2DTetragon grid, final GenerationContext ctx, final RandomGenerator.SplittableGenerator random, final long[] linkA, final int from, final int to, final int taskRows) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.random = random;
+            this.linkA = linkA;
+            this.from = from;
+            this.to = to;
+            this.taskRows = taskRows;
+        }
+
+        @Override
+        protected void compute() {
+            int cnt = (to - from + 1) / 2;
+            if (cnt <= taskRows) {
+                ctx.checkpoint((long) cnt * grid.getColumns());
+                for (int ir = from; ir < to; ir += 2) {
+                    linkA[ir] = plantRow(grid, ir, random);
+                }
+                return;
+            }
+            // keep the parity of the second half
+            int mid = from + 2 * (cnt / 2);
+            RandomGenerator.SplittableGenerator second = random.split();
+            invokeAll(new RowTask(grid, ctx, random, linkA, from, mid, taskRows),
+                    new RowTask(grid, ctx, second, linkA, mid, to, taskRows));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Recursive Backtracker, as described on page 73 of "Mazes for Programmers".
+ * <p>
+ *     A random depth first walk: we go to a random unvisited neighbour of the current cell
+ *     and go back if there is none. This creates long corridors with few dead ends.
+ * </p>
+ * <p>
+ *     The path is a stack of cell ids in an {@code int[]} holding at most all cells
+ *     and visited cells are marked in a bitset.
+ *     So we never recurse and allocate nothing while walking.
+ * </p>
+ * @implNote If the unmasked cells are not connected we only plant the part of the first cell.
+ * @author jTzipi
+ */
+public class RecursiveBacktracker2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> implements ISteppable2DTetragon {
+
+    public RecursiveBacktracker2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        final RandomGenerator random = ctx.random();
+        final int columns = grid.getColumns();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final int[] stack = new int[grid.getSize()];
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        long pops = 0L;
+        long steps = 0L;
+
+        int start = grid.cellId(grid.getRandomCell(random));
+        visited.set(start);
+        stack[0] = start;
+        int sp = 1;
+
+        while (0 < sp) {
+            if (0 == (++steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            final int id = stack[sp - 1];
+            // unvisited and unmasked neighbours
+            int cnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+
+            if (0 == cnt) {
+                // dead end go back
+                sp--;
+                pops++;
+            } else {
+                Direction2DTetragon dir = dirA[random.nextInt(cnt)];
+                int nb = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                grid.link(id, dir);
+                visited.set(nb);
+                stack[sp++] = nb;
+            }
+        }
+
+        // each visited cell is pushed and popped once and all but the first are linked
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.QUEUE_PUSHES, pops);
+        metrics.add(GenerationMetrics.Counter.QUEUE_POPS, pops);
+        metrics.add(GenerationMetrics.Counter.LINKS, pops - 1);
+    }
+
+    @Override
+    public IStepper2DTetragon stepper(IGrid2DTetragon grid, GenerationContext ctx) {
+        Objects.requireNonNull(ctx);
+        IStepper2DTetragon.checkCapacity(grid);
+        return new Stepper(grid, ctx);
+    }
+
+    /**
+     * Backtracker with its stack kept between steps, like {@link #doPlant(IGrid2DTetragon, GenerationContext)}.
+     */
+    private static final class Stepper implements IStepper2DTetragon {
+
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final int columns;
+        private final BitSet visited;
+        private final int[] stack;
+        private final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        private int sp;
+
+        Stepper(final IGrid2DTetragon grid, final GenerationContext ctx) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.columns = grid.getColumns();
+            this.visited = new BitSet(grid.getCapacity());
+            this.stack = new int[grid.getSize()];
+            if (0 < grid.getSize()) {
+                int start = grid.cellId(grid.getRandomCell(ctx.random()));
+                visited.set(start);
+                stack[sp++] = start;
+            }
+        }
+
+        @Override
+        public int step(int[] eventA) {
+            if (0 == eventA.length) {
+                throw new IllegalArgumentException("No space for events!");
+            }
+            final RandomGenerator random = ctx.random();
+            int cnt = 0;
+            while (0 < sp && cnt < eventA.length) {
+                final int id = stack[sp - 1];
+                // unvisited and unmasked neighbours
+                int dirCnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+
+                if (0 == dirCnt) {
+                    sp--;
+                } else {
+                    Direction2DTetragon dir = dirA[random.nextInt(dirCnt)];
+                    int nb = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                    eventA[cnt++] = IStepper2DTetragon.event(id, dir);
+                    visited.set(nb);
+                    stack[sp++] = nb;
+                }
+            }
+            ctx.metrics().add(GenerationMetrics.Counter.LINKS, cnt);
+            return cnt;
+        }
+
+        @Override
+        public boolean isDone() {
+            return 0 == sp;
+        }
+    }
+}
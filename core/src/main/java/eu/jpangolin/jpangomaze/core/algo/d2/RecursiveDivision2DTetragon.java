@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Recursive division, as described on page 233 of "Mazes for Programmers", running on the common fork/join pool.
+ * <p>
+ *     The textbook links all cells and then divides each chamber by a wall with one passage.
+ *     A link is removed if it crosses a wall except at the passage.
+ *     So we only link what stays: each passage, and all links inside chambers which are not divided.
+ *     Each link is written once and nothing is unlinked.
+ * </p>
+ * <p>
+ *     The two chambers of a division touch disjoint cells and are planted as independent tasks
+ *     until a chamber has less than {@link #SEQUENTIAL_CELLS} cells.
+ *     Each task gets its own random generator split in a fixed order,
+ *     so the maze for a seed does not depend on the number of threads.
+ * </p>
+ * <p>
+ *     Chambers with at most {@code roomSize} rows and columns are left open with a probability,
+ *     which creates rooms.
+ * </p>
+ * @author jTzipi
+ */
+public class RecursiveDivision2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Chambers with less cells are divided in the same task.
+     */
+    static final int SEQUENTIAL_CELLS = 1 << 14;
+
+    private final int roomSize;
+    private final double roomProbability;
+
+    /**
+     * Recursive division without rooms.
+     */
+    public RecursiveDivision2DTetragon() {
+        this(0, 0D);
+    }
+
+    /**
+     * Recursive division with rooms.
+     * @param roomSize maximal rows and columns of a room [0 .. ]
+     * @param roomProbability probability that a chamber small enough is a room [0 .. 1]
+     * @throws IllegalArgumentException if {@code roomSize} &lt; 0 or {@code roomProbability} not in [0 .. 1]
+     */
+    public RecursiveDivision2DTetragon(final int roomSize, final double roomProbability) {
+        if (0 > roomSize) {
+            throw new IllegalArgumentException("Room size[=" + roomSize + "] < 0");
+        }
+        if (!(0D <= roomProbability && roomProbability <= 1D)) {
+            throw new IllegalArgumentException("Room probability[=" + roomProbability + "] not in [0 .. 1]");
+        }
+        this.roomSize = roomSize;
+        this.roomProbability = roomProbability;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if {@code grid} has masked cells
+     */
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (grid.getSize() != grid.getCapacity()) {
+            throw new IllegalArgumentException("Recursive division can not plant a grid with masked cells!");
+        }
+        if (0 == grid.getSize()) {
+            return;
+        }
+        long links = ForkJoinPool.commonPool().invoke(
+                new ChamberTask(grid, ctx, 0, 0, grid.getRows(), grid.getColumns(), ctx.random().split()));
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Divide chamber [{@code row} .. {@code row + height}) x [{@code column} .. {@code column + width}) in this thread.
+     * @return links
+     */
+    private long divide(IGrid2DTetragon grid, int row, int column, int height, int width, RandomGenerator random) {
+        if (isOpen(height, width, random)) {
+            return linkAll(grid, row, column, height, width);
+        }
+        return split(grid, row, column, height, width, random);
+    }
+
+    /**
+     * Split a chamber not open in this thread.
+     * @return links
+     */
+    private long split(IGrid2DTetragon grid, int row, int column, int height, int width, RandomGenerator random) {
+        if (divideHorizontally(height, width, random)) {
+            int north = 1 + random.nextInt(height - 1);
+            grid.link(grid.cellId(row + north - 1, column + random.nextInt(width)), Direction2DTetragon.SOUTH);
+            return 1L
+                    + divide(grid, row, column, north, width, random)
+                    + divide(grid, row + north, column, height - north, width, random);
+        }
+        int west = 1 + random.nextInt(width - 1);
+        grid.link(grid.cellId(row + random.nextInt(height), column + west - 1), Direction2DTetragon.EAST);
+        return 1L
+                + divide(grid, row, column, height, west, random)
+                + divide(grid, row, column + west, height, width - west, random);
+    }
+
+    private boolean isOpen(int height, int width, RandomGenerator random) {
+        if (1 >= height || 1 >= width) {
+            return true;
+        }
+        return height <= roomSize && width <= roomSize && random.nextDouble() < roomProbability;
+    }
+
+    private static boolean divideHorizontally(int height, int width, RandomGenerator random) {
+        if (height != width) {
+            return height > width;
+        }
+        return random.nextBoolean();
+    }
+
+    /**
+     * Link all cells of a chamber.
+     * @return links
+     */
+    private static long linkAll(IGrid2DTetragon grid, int row, int column, int height, int width) {
+        for (int ir = row; ir < row + height; ir++) {
+            int id = grid.cellId(ir, column);
+            for (int ic = 0; ic < width; ic++, id++) {
+                if (ic + 1 < width) {
+                    grid.link(id, Direction2DTetragon.EAST);
+                }
+                if (ir + 1 < row + height) {
+                    grid.link(id, Direction2DTetragon.SOUTH);
+                }
+            }
+        }
+        return (long) height * (width - 1) + (long) (height - 1) * width;
+    }
+
+    /**
+     * Task dividing a chamber.
+     */
+    // tasks are only run on the fork/join pool and never serialized
+    @SuppressWarnings("serial")
+    private final class ChamberTask extends RecursiveTask<Long> {
+
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final int row;
+        private final int column;
+        private final int height;
+        private final int width;
+        private final RandomGenerator.SplittableGenerator random;
+
+        ChamberTask(final IGrid2DTetragon grid, final GenerationContext ctx, final int row, final int column, final int height, final int width, final RandomGenerator.SplittableGenerator random) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.row = row;
+            this.column = column;
+            this.height = height;
+            this.width = width;
+            this.random = random;
+        }
+
+        @Override
+        protected Long compute() {
+            // decide only once, so a chamber is open with the room probability
+            boolean open = isOpen(height, width, random);
+            if (open || (long) height * width < SEQUENTIAL_CELLS) {
+                ctx.checkpoint((long) height * width);
+                return open
+                        ? linkAll(grid, row, column, height, width)
+                        : split(grid, row, column, height, width, random);
+            }
+            ChamberTask first;
+            ChamberTask second;
+            if (divideHorizontally(height, width, random)) {
+                int north = 1 + random.nextInt(height - 1);
+                grid.link(grid.cellId(row + north - 1, column + random.nextInt(width)), Direction2DTetragon.SOUTH);
+                first = new ChamberTask(grid, ctx, row, column, north, width, random.split());
+                second = new ChamberTask(grid, ctx, row + north, column, height - north, width, random.split());
+            } else {
+                int west = 1 + random.nextInt(width - 1);
+                grid.link(grid.cellId(row + random.nextInt(height), column + west - 1), Direction2DTetragon.EAST);
+                first = new ChamberTask(grid, ctx, row, column, height, west, random.split());
+                second = new ChamberTask(grid, ctx, row, column + west, height, width - west, random.split());
+            }
+            second.fork();
+            return 1L + first.compute() + second.join();
+        }
+    }
+}
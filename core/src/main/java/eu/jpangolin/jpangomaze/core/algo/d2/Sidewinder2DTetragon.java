@@ -16,14 +16,18 @@
 
 package eu.jpangolin.jpangomaze.core.algo.d2;
 
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
 import eu.jpangolin.jpangomaze.core.MazeUtils;
-import eu.jpangolin.jpangomaze.core.algo.IPlantable;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
-import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 /**
  * Sidewinder Algorithm.
@@ -37,18 +41,26 @@ import java.util.Objects;
  *     <be />
  *     Described on page 28 of Mazes for Programmers.
  * </p>
+ * <p>
+ *     For large grids see {@link ParallelSidewinder2DTetragon}.
+ * </p>
+ * <p>
+ *     The {@link #stepper(IGrid2DTetragon, GenerationContext) stepper} emits the links row by row from the last row.
+ * </p>
  * @implNote The Sidewinder Algo can not handle masked cells in some circumstances!
  *           TODO: handle those
  *
  *
  */
-public class Sidewinder2DTetragon implements IPlantable<Grid2DTetragon, ICell2DTetragon> {
+public class Sidewinder2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> implements ISteppable2DTetragon {
     @Override
-    public void plant(Grid2DTetragon grid) {
-        Objects.requireNonNull(grid);
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        RandomGenerator random = ctx.random();
+        long links = 0L;
 
         // from last row upward
         for( int ir = grid.getRows() - 1; ir >= 0; ir-- ) {
+            ctx.checkpoint(grid.getColumns());
 
             // cells we maybe link
             List<ICell2DTetragon> candidateL = new ArrayList<>();
@@ -61,15 +73,16 @@ public class Sidewinder2DTetragon implements IPlantable<Grid2DTetragon, ICell2DT
                 boolean northBorder = cell.getNeighbourNorth().isBorder();
                 boolean eastBorder = cell.getNeighbourEast().isBorder();
 
-                boolean close = eastBorder || (!northBorder && MazeUtils.randomInt(2) == 0);
+                boolean close = eastBorder || (!northBorder && random.nextBoolean());
 
                 if(close) {
-                    ICell2DTetragon cellTolink = MazeUtils.getRandomCell(candidateL);
+                    ICell2DTetragon cellTolink = MazeUtils.getRandomCell(candidateL, random);
                     // we can link to the north?
                     // do so
                     // and clear the candidate list
                     if(cellTolink.getNeighbourNorth().isLinkable()) {
                         cellTolink.link(cellTolink.getNeighbourNorth());
+                        links++;
                     }
                     candidateL.clear();
                 } else {
@@ -78,9 +91,79 @@ public class Sidewinder2DTetragon implements IPlantable<Grid2DTetragon, ICell2DT
                     // link them
                     if(cell.getNeighbourEast().isLinkable()) {
                         cell.link(cell.getNeighbourEast());
+                        links++;
                     }
                 }
             }
         }
+        ctx.metrics().add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    @Override
+    public IStepper2DTetragon stepper(IGrid2DTetragon grid, GenerationContext ctx) {
+        Objects.requireNonNull(ctx);
+        IStepper2DTetragon.checkCapacity(grid);
+        return new Stepper(grid, ctx);
+    }
+
+    /**
+     * Sidewinder cell by cell, like {@link #doPlant(IGrid2DTetragon, GenerationContext)}.
+     */
+    private static final class Stepper implements IStepper2DTetragon {
+
+        private final IGrid2DTetragon grid;
+        private final GenerationContext ctx;
+        private final int columns;
+        // ids of the unmasked cells of the current run
+        private final int[] runA;
+        private int runCnt;
+        // next cell
+        private int row;
+        private int column;
+
+        Stepper(final IGrid2DTetragon grid, final GenerationContext ctx) {
+            this.grid = grid;
+            this.ctx = ctx;
+            this.columns = grid.getColumns();
+            this.runA = new int[columns];
+            this.row = grid.getRows() - 1;
+        }
+
+        @Override
+        public int step(int[] eventA) {
+            if (0 == eventA.length) {
+                throw new IllegalArgumentException("No space for events!");
+            }
+            final RandomGenerator random = ctx.random();
+            int cnt = 0;
+            while (0 <= row && cnt < eventA.length) {
+                int id = row * columns + column;
+                if (grid.isUnmasked(id)) {
+                    runA[runCnt++] = id;
+                    boolean close = column + 1 == columns || (0 < row && random.nextBoolean());
+                    if (close) {
+                        int north = runA[random.nextInt(runCnt)];
+                        if (0 < row && grid.isUnmasked(north - columns)) {
+                            eventA[cnt++] = IStepper2DTetragon.event(north, Direction2DTetragon.NORTH);
+                        }
+                        runCnt = 0;
+                    } else if (grid.isUnmasked(id + 1)) {
+                        eventA[cnt++] = IStepper2DTetragon.event(id, Direction2DTetragon.EAST);
+                    }
+                }
+                if (++column == columns) {
+                    column = 0;
+                    runCnt = 0;
+                    row--;
+                }
+            }
+            ctx.metrics().add(GenerationMetrics.Counter.LINKS, cnt);
+            return cnt;
+        }
+
+        @Override
+        public boolean isDone() {
+            return 0 > row;
+        }
     }
-}
\ No newline at end of file
+}
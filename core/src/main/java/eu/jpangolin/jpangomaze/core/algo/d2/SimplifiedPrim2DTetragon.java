@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simplified Prim, as described on page 215 of "Mazes for Programmers".
+ * <p>
+ *     We keep the active cells, that are visited cells which may have unvisited neighbours.
+ *     Each step we take a random active cell and link it to a random unvisited neighbour which gets active.
+ *     If the cell has no unvisited neighbour it is removed.
+ * </p>
+ * <p>
+ *     The active cells are an {@code int[]} where we remove a cell by moving the last cell to its place,
+ *     so each step is O(1).
+ * </p>
+ * @implNote If the unmasked cells are not connected we only plant the part of the first cell.
+ * @author jTzipi
+ */
+public class SimplifiedPrim2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    public SimplifiedPrim2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        final RandomGenerator random = ctx.random();
+        final int columns = grid.getColumns();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final int[] activeA = new int[grid.getSize()];
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        long pushes = 1L;
+        long steps = 0L;
+
+        int start = grid.cellId(grid.getRandomCell(random));
+        visited.set(start);
+        activeA[0] = start;
+        int active = 1;
+
+        while (0 < active) {
+            if (0 == (++steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            final int i = random.nextInt(active);
+            final int id = activeA[i];
+            // unvisited and unmasked neighbours
+            int cnt = Neighbours2DTetragon.unvisited(grid, visited, id, dirA);
+
+            if (0 == cnt) {
+                activeA[i] = activeA[--active];
+            } else {
+                Direction2DTetragon dir = dirA[random.nextInt(cnt)];
+                int nb = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                grid.link(id, dir);
+                visited.set(nb);
+                activeA[active++] = nb;
+                pushes++;
+            }
+        }
+
+        // each active cell is removed once and all but the first are linked
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.QUEUE_PUSHES, pushes);
+        metrics.add(GenerationMetrics.Counter.QUEUE_POPS, pushes);
+        metrics.add(GenerationMetrics.Counter.LINKS, pushes - 1);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.algo.IPlantable;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.SubGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.util.IntUnionFind;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plant any algorithm on tiles of a grid in parallel and join the tiles to one maze.
+ * <p>
+ *     The grid is split into tiles of {@code tileRows} x {@code tileColumns} cells.
+ *     The last tile of each row and column of tiles takes the remaining cells, so no tile is smaller.
+ *     Each tile is a {@link SubGrid2DTetragon} planted in its own task on the common fork/join pool.
+ * </p>
+ * <p>
+ *     After all tiles are planted we walk the edges between adjacent tiles in random order,
+ *     like {@link Kruskal2DTetragon} does with cells, and open one passage through the seam of each edge
+ *     joining two tiles not connected yet.
+ *     So the passages form a random spanning tree of the tiles and
+ *     if each tile is a perfect maze the grid is a perfect maze.
+ * </p>
+ * <p>
+ *     Each tile gets its own context split in tile order,
+ *     so the maze for a seed does not depend on the number of threads.
+ * </p>
+ * @implNote The cells of a tile are bounded to the tile, so algorithms working with cells and with cell ids
+ * never link across a seam while the tiles are planted.
+ * If masked cells split a tile or a seam the maze is not connected.
+ * @author jTzipi
+ */
+public class Tiled2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    /**
+     * Default rows and columns of a tile.
+     */
+    public static final int DEFAULT_TILE_LEN = 256;
+
+    private final IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable;
+    private final int tileRows;
+    private final int tileColumns;
+
+    /**
+     * Tiled algorithm with tiles of {@link #DEFAULT_TILE_LEN} x {@link #DEFAULT_TILE_LEN}.
+     * @param plantable algorithm for each tile
+     * @throws NullPointerException if {@code plantable}
+     */
+    public Tiled2DTetragon(final IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable) {
+        this(plantable, DEFAULT_TILE_LEN, DEFAULT_TILE_LEN);
+    }
+
+    /**
+     * Tiled algorithm.
+     * @param plantable algorithm for each tile
+     * @param tileRows rows of a tile [2 .. ]
+     * @param tileColumns columns of a tile [2 .. ]
+     * @throws NullPointerException if {@code plantable}
+     * @throws IllegalArgumentException if {@code tileRows} or {@code tileColumns} &lt; 2
+     */
+    public Tiled2DTetragon(final IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable, final int tileRows, final int tileColumns) {
+        this.plantable = Objects.requireNonNull(plantable);
+        if (2 > tileRows || 2 > tileColumns) {
+            throw new IllegalArgumentException("Tile rows[=" + tileRows + "] or columns[=" + tileColumns + "] < 2");
+        }
+        this.tileRows = tileRows;
+        this.tileColumns = tileColumns;
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final int rowTiles = Math.max(1, grid.getRows() / tileRows);
+        final int columnTiles = Math.max(1, grid.getColumns() / tileColumns);
+        final int tiles = rowTiles * columnTiles;
+
+        final SubGrid2DTetragon[] tileA = new SubGrid2DTetragon[tiles];
+        final GenerationContext[] ctxA = new GenerationContext[tiles];
+        for (int t = 0; t < tiles; t++) {
+            int tr = t / columnTiles;
+            int tc = t - tr * columnTiles;
+            int row = tr * tileRows;
+            int column = tc * tileColumns;
+            int rows = tr + 1 == rowTiles ? grid.getRows() - row : tileRows;
+            int columns = tc + 1 == columnTiles ? grid.getColumns() - column : tileColumns;
+            tileA[t] = SubGrid2DTetragon.of(grid, row, column, rows, columns);
+            ctxA[t] = ctx.split();
+        }
+
+        ForkJoinPool.commonPool().invoke(new TileTask(plantable, tileA, ctxA, 0, tiles));
+        // the tiles share our limits, so if a tile was aborted we abort too
+        ctx.checkpoint(0L);
+
+        GenerationMetrics metrics = ctx.metrics();
+        for (GenerationContext tileCtx : ctxA) {
+            metrics.merge(tileCtx.metrics());
+        }
+
+        // tile edges: t << 1 to the east and t << 1 | 1 to the south tile
+        final int[] edgeA = new int[2 * tiles];
+        int cnt = 0;
+        for (int t = 0; t < tiles; t++) {
+            if ((t + 1) % columnTiles != 0) {
+                edgeA[cnt++] = t << 1;
+            }
+            if (t + columnTiles < tiles) {
+                edgeA[cnt++] = t << 1 | 1;
+            }
+        }
+        final int[] shuffledA = Arrays.copyOf(edgeA, cnt);
+        Kruskal2DTetragon.shuffle(shuffledA, ctx.random());
+
+        final IntUnionFind regions = new IntUnionFind(tiles);
+        long links = 0L;
+        for (int edge : shuffledA) {
+            int t = edge >>> 1;
+            boolean south = 0 != (edge & 1);
+            int other = south ? t + columnTiles : t + 1;
+            if (!regions.connected(t, other) && openSeam(grid, tileA[t], south, ctx.random())) {
+                regions.union(t, other);
+                links++;
+            }
+        }
+        metrics.add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Link a random pair of unmasked cells across the east or south seam of a tile.
+     * @return {@code false} if there is no such pair
+     */
+    private static boolean openSeam(IGrid2DTetragon grid, SubGrid2DTetragon tile, boolean south, RandomGenerator random) {
+        final int len = south ? tile.getColumns() : tile.getRows();
+        final Direction2DTetragon dir = south ? Direction2DTetragon.SOUTH : Direction2DTetragon.EAST;
+        // last row or column of the tile
+        final int from = south
+                ? tile.parentId(tile.getCapacity() - tile.getColumns())
+                : tile.parentId(tile.getColumns() - 1);
+        final int step = south ? 1 : grid.getColumns();
+        final int offset = south ? grid.getColumns() : 1;
+
+        int cnt = 0;
+        for (int i = 0, id = from; i < len; i++, id += step) {
+            if (grid.isUnmasked(id) && grid.isUnmasked(id + offset)) {
+                cnt++;
+            }
+        }
+        if (0 == cnt) {
+            return false;
+        }
+        int k = random.nextInt(cnt);
+        for (int i = 0, id = from; i < len; i++, id += step) {
+            if (grid.isUnmasked(id) && grid.isUnmasked(id + offset) && 0 == k--) {
+                grid.link(id, dir);
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Task planting tiles [{@code from} .. {@code to}).
+     */
+    // tasks are only run on the fork/join pool and never serialized
+    @SuppressWarnings("serial")
+    private static final class TileTask extends RecursiveAction {
+
+        private final IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable;
+        private final SubGrid2DTetragon[] tileA;
+        private final GenerationContext[] ctxA;
+        private final int from;
+        private final int to;
+
+        TileTask(final IPlantable<IGrid2DTetragon, ICell2DTetragon> plantable, final SubGrid2DTetragon[] tileA, final GenerationContext[] ctxA, final int from, final int to) {
+            this.plantable = plantable;
+            this.tileA = tileA;
+            this.ctxA = ctxA;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (0 < tileA[from].getSize()) {
+                    plantable.plant(tileA[from], ctxA[from]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(plantable, tileA, ctxA, from, mid), new TileTask(plantable, tileA, ctxA, mid, to));
+        }
+    }
+}
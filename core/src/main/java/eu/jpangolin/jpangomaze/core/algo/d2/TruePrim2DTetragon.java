@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.util.IndexedMinHeap;
+
+import java.util.BitSet;
+
+/**
+ * True Prim, the minimum spanning tree of random edge weights, see page 218 of "Mazes for Programmers".
+ * <p>
+ *     The unvisited cells next to the tree are in an {@link IndexedMinHeap} keyed by the least weight
+ *     of an edge to the tree. Each step we link the cell with the least key and
+ *     decrease the keys of its unvisited neighbours.
+ * </p>
+ * <p>
+ *     The weight of an edge is a hash of a seed drawn from the context and the edge,
+ *     so we need not store a weight per edge.
+ * </p>
+ * @implNote If the unmasked cells are not connected we only plant the part of the first cell.
+ * @author jTzipi
+ */
+public class TruePrim2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
+    public TruePrim2DTetragon() {
+    }
+
+    @Override
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        if (0 == grid.getSize()) {
+            return;
+        }
+        final long seed = ctx.random().nextLong();
+        final int columns = grid.getColumns();
+        final int rows = grid.getRows();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final IndexedMinHeap heap = new IndexedMinHeap(grid.getCapacity());
+        // direction from a cell in the heap to the tree
+        final byte[] viaA = new byte[grid.getCapacity()];
+        long pushes = 0L;
+        long pops = 0L;
+
+        int id = grid.cellId(grid.getRandomCell(ctx.random()));
+        while (true) {
+            visited.set(id);
+            final int row = id / columns;
+            final int column = id - row * columns;
+
+            if (0 < row) {
+                pushes += offer(grid, visited, heap, viaA, id - columns, weight(seed, id - columns, true), Direction2DTetragon.SOUTH);
+            }
+            if (column + 1 < columns) {
+                pushes += offer(grid, visited, heap, viaA, id + 1, weight(seed, id, false), Direction2DTetragon.WEST);
+            }
+            if (0 < column) {
+                pushes += offer(grid, visited, heap, viaA, id - 1, weight(seed, id - 1, false), Direction2DTetragon.EAST);
+            }
+            if (row + 1 < rows) {
+                pushes += offer(grid, visited, heap, viaA, id + columns, weight(seed, id, true), Direction2DTetragon.NORTH);
+            }
+
+            if (heap.isEmpty()) {
+                break;
+            }
+            id = heap.poll();
+            pops++;
+            if (0 == (pops & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
+            }
+            grid.link(id, Direction2DTetragon.of(viaA[id]));
+        }
+
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.QUEUE_PUSHES, pushes);
+        metrics.add(GenerationMetrics.Counter.QUEUE_POPS, pops);
+        metrics.add(GenerationMetrics.Counter.LINKS, pops);
+    }
+
+    /**
+     * Offer an unvisited unmasked cell with the weight of an edge to the tree.
+     * @return 1 if inserted or decreased else 0
+     */
+    private static int offer(IGrid2DTetragon grid, BitSet visited, IndexedMinHeap heap, byte[] viaA, int id, long weight, Direction2DTetragon via) {
+        if (visited.get(id) || !grid.isUnmasked(id) || !heap.offer(id, weight)) {
+            return 0;
+        }
+        viaA[id] = (byte) via.ordinal();
+        return 1;
+    }
+
+    /**
+     * Weight of the edge east or south of a cell.
+     * @param seed seed
+     * @param id cell id
+     * @param south whether the south edge
+     * @return weight
+     */
+    static long weight(long seed, int id, boolean south) {
+        // SplitMix64 finalizer
+        long z = seed + (((long) id << 1 | (south ? 1L : 0L)) + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -16,57 +16,122 @@
 
 package eu.jpangolin.jpangomaze.core.algo.d2;
 
-import eu.jpangolin.jpangomaze.core.MazeUtils;
-import eu.jpangolin.jpangomaze.core.algo.IPlantable;
-import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
-import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
 
 /**
  * Wilson's algorithm for 2D Tetragonal cells, as described on page 60 of "Mazes for Programmers".
+ * <p>
+ *     We start a loop erased random walk on an unvisited cell until we hit a visited cell
+ *     and add the path of the walk to the maze.
+ *     The result is a uniform spanning tree of all unmasked cells.
+ * </p>
+ * <p>
+ *     Instead of a path list we store for each cell the direction we last left it.
+ *     Following these directions from the start cell gives the walk with all loops erased,
+ *     since a loop is overwritten when we leave the cell again.
+ *     So {@link GenerationMetrics.Counter#LOOP_ERASURES} is not counted.
+ * </p>
+ * <p>
+ *     The unvisited cells are kept in an array of cell ids.
+ *     We pick a random index and remove visited cells lazily by swapping in the last id.
+ * </p>
+ * @implNote The unmasked cells must be connected. Otherwise a walk in a part without visited cells never ends.
+ * @author jTzipi
  */
-public class Wilson2DTetragon implements IPlantable<Grid2DTetragon, ICell2DTetragon> {
+public class Wilson2DTetragon extends AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> {
+
     @Override
-    public void plant(Grid2DTetragon grid) {
+    protected void doPlant(IGrid2DTetragon grid, GenerationContext ctx) {
+        final RandomGenerator random = ctx.random();
+        final BitSet visited = new BitSet(grid.getCapacity());
+        final int[] unvisitedA = unmaskedIds(grid);
+        if (0 == unvisitedA.length) {
+            return;
+        }
+        // the first cell of the maze
+        visited.set(unvisitedA[random.nextInt(unvisitedA.length)]);
 
-        // Add all cells to the list of
-        List<ICell> unvisitedL = new ArrayList<>(grid.getCells());
-        int idx = MazeUtils.randomInt(unvisitedL.size());
-        unvisitedL.remove(idx);
+        walk(grid, random, visited, unvisitedA, unvisitedA.length, ctx);
+    }
 
-        while(!unvisitedL.isEmpty()) {
-            ICell next = MazeUtils.getRandomCell(unvisitedL);
-            List<ICell> pathL = new LinkedList<>();
-            // until we found first
-            //
-            while(unvisitedL.contains(next)) {
-                // random neighbour cell of next
-                // look whether we already contain this new cell
-                // if so remove the sub path until we found the loop
-                next = MazeUtils.getRandomCell(next.getTraversableNeighbours());
+    /**
+     * Add all unvisited cells to the maze.
+     * @param grid grid
+     * @param random random generator
+     * @param visited cells of the maze, at least one
+     * @param unvisitedA ids of cells maybe not visited, this is changed
+     * @param unvisitedCnt number of ids in {@code unvisitedA}
+     * @param ctx context for limits and metrics
+     */
+    static void walk(IGrid2DTetragon grid, RandomGenerator random, BitSet visited, int[] unvisitedA, int unvisitedCnt, GenerationContext ctx) {
+        final int columns = grid.getColumns();
+        // direction we left a cell last
+        final byte[] exitA = new byte[grid.getCapacity()];
+        // without masked cells only the grid bounds limit the walk
+        final boolean unmasked = grid.getSize() == grid.getCapacity();
+        final Direction2DTetragon[] dirA = new Direction2DTetragon[4];
+        long steps = 0L;
+        long links = 0L;
+
+        while (0 < unvisitedCnt) {
+            int idx = random.nextInt(unvisitedCnt);
+            int start = unvisitedA[idx];
+            if (visited.get(start)) {
+                unvisitedA[idx] = unvisitedA[--unvisitedCnt];
+                continue;
+            }
 
-                int foundIdx = pathL.indexOf(next);
-                if( foundIdx >= 0) {
-                    pathL = pathL.subList(0, foundIdx);
-                } else {
-                    pathL.add(next);
+            // walk until we hit the maze
+            int id = start;
+            while (!visited.get(id)) {
+                int dirCnt = Neighbours2DTetragon.traversable(grid, unmasked, id, dirA);
+                Direction2DTetragon dir = dirA[random.nextInt(dirCnt)];
+                exitA[id] = (byte) dir.ordinal();
+                id = Neighbours2DTetragon.neighbourId(id, columns, dir);
+                steps++;
+                if (0 == (steps & (GenerationContext.CHECKPOINT_INTERVAL - 1))) {
+                    ctx.checkpoint(GenerationContext.CHECKPOINT_INTERVAL);
                 }
             }
-            // When we found a whole new path
-            // we link each part of this part
-            // and delete them from the unvisited list
-            for( int i = 0; i < pathL.size() - 2; i++) {
 
-                ICell cellA = pathL.get(i);
-                ICell cellB = pathL.get(i+1);
-                cellA.link(cellB);
-                unvisitedL.remove(cellA);
+            // follow the last exits and add the path
+            id = start;
+            while (!visited.get(id)) {
+                Direction2DTetragon dir = Direction2DTetragon.of(exitA[id]);
+                grid.link(id, dir);
+                visited.set(id);
+                links++;
+                id = Neighbours2DTetragon.neighbourId(id, columns, dir);
             }
         }
 
+        GenerationMetrics metrics = ctx.metrics();
+        metrics.add(GenerationMetrics.Counter.WALK_STEPS, steps);
+        metrics.add(GenerationMetrics.Counter.LINKS, links);
+    }
+
+    /**
+     * Return the ids of all unmasked cells.
+     * @param grid grid
+     * @return ids ascending
+     */
+    static int[] unmaskedIds(IGrid2DTetragon grid) {
+        final int cap = grid.getCapacity();
+        final int[] idA = new int[grid.getSize()];
+        int cnt = 0;
+        for (int id = 0; id < cap; id++) {
+            if (grid.isUnmasked(id)) {
+                idA[cnt++] = id;
+            }
+        }
+        return idA;
     }
-}
\ No newline at end of file
+}
@@ -75,7 +75,6 @@ public abstract class AbstractCell implements ICell {
         }
         // already linked !?
         if(isLinked(other)) {
-            LOG.info("The cell '{}' is linked to '{}' already!", other, this);
             return;
         }
         // other cell must be a neighbour cell
@@ -84,7 +83,6 @@ public abstract class AbstractCell implements ICell {
             return;
         }
         getLinkedNeighbourWeightMap().put(other, weight);
-        LOG.warn("Link '{}' to '{}'", other, this);
         if(bidi) {
             other.link(this, false, weight);
         }
@@ -99,7 +97,6 @@ public abstract class AbstractCell implements ICell {
         }
         // not linked !?
         if(!isLinked(other)) {
-            LOG.info("The cell '{}' is unlinked from '{}' already!", other, this);
             return;
         }
         // other cell must be a neighbour cell
@@ -108,7 +105,6 @@ public abstract class AbstractCell implements ICell {
             return;
         }
         getLinkedNeighbourWeightMap().remove(other);
-        LOG.warn("UnLink '{}' from '{}'", other, this );
         if(bidi) {
             other.unlink(this, false);
         }
@@ -18,10 +18,10 @@ package eu.jpangolin.jpangomaze.core.cell;
 
 import eu.jpangolin.jpangomaze.core.IWeightedEdge;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
@@ -179,7 +179,7 @@ public interface ICell {
      */
     default boolean isNeighbour(ICell cell) {
         Objects.requireNonNull(cell);
-        return getNeighbours().equals(cell);
+        return getNeighbours().contains(cell);
     }
     /**
      * Return all neighbour cells along their edge which are linked to this cell.
@@ -235,6 +235,62 @@ public interface ICell {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Perform an action for each neighbour cell.
+     * <p>
+     *     Like {@link #getNeighbours()} this includes border and masked cells.
+     *     But no set is created.
+     * </p>
+     *
+     * @param action action
+     * @throws NullPointerException if {@code action}
+     * @implSpec Implementations should not create a collection. They may pass the same border cell more than once.
+     */
+    default void forEachNeighbour(Consumer<? super ICell> action) {
+        Objects.requireNonNull(action);
+        getNeighbours().forEach(action);
+    }
+
+    /**
+     * Perform an action for each linked neighbour cell and the weight to visit it.
+     *
+     * @param action action accepting the linked neighbour and the weight
+     * @throws NullPointerException if {@code action}
+     * @implSpec Implementations should not create a collection
+     */
+    default void forEachLinkedNeighbour(ObjLongConsumer<? super ICell> action) {
+        Objects.requireNonNull(action);
+        getLinkedNeighbourWeightMap().forEach(action::accept);
+    }
+
+    /**
+     * Return the number of neighbour cells we can traverse.
+     *
+     * @return number of traversable neighbours
+     * @see #getTraversableNeighbours()
+     */
+    default int traversableNeighbourCount() {
+        return getTraversableNeighbours().size();
+    }
+
+    /**
+     * Return a random neighbour cell we can traverse.
+     *
+     * @param random random generator
+     * @return random traversable neighbour
+     * @throws NullPointerException if {@code random}
+     * @throws IllegalStateException if this cell has no traversable neighbour
+     * @see #getTraversableNeighbours()
+     */
+    default ICell randomTraversableNeighbour(RandomGenerator random) {
+        Objects.requireNonNull(random);
+        List<ICell> nbL = List.copyOf(getTraversableNeighbours());
+        if(nbL.isEmpty()) {
+            throw new IllegalStateException("Cell '" + this + "' has no traversable neighbour!");
+        }
+        return nbL.get(random.nextInt(nbL.size()));
+    }
+
     /**
      * Is a given neighbour cell linked to this cell.
      *
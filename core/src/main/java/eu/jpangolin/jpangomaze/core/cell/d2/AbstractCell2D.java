@@ -19,7 +19,6 @@ package eu.jpangolin.jpangomaze.core.cell.d2;
 import eu.jpangolin.jpangomaze.core.ILocation;
 import eu.jpangolin.jpangomaze.core.cell.AbstractCell;
 
-import java.util.Objects;
 /**
  * Abstract implementation of a 2D cell.
  * <p>
@@ -69,7 +68,8 @@ public abstract class AbstractCell2D extends AbstractCell implements ICell2D {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, column, guid());
+        // same as Objects.hash(row, column, guid) without the varargs array
+        return 31 * (31 * (31 + row) + column) + Long.hashCode(guid);
     }
 
     public static class BorderCell2D extends BorderCell implements ICell2D {
@@ -19,6 +19,7 @@ package eu.jpangolin.jpangomaze.core.cell.d2;
 
 import eu.jpangolin.jpangomaze.core.*;
 import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2D;
 
 
 import java.util.*;
@@ -31,6 +32,10 @@ import java.util.*;
  * </p>
  * @apiNote I decided now to store each neighbour node as an own instance. Not storing them dynamically in the neighbour
  * map.
+ * <br/>
+ * Links are stored as {@link Direction2DTetragon#bit() direction bits} and the link weights
+ * in an array indexed by direction. The array is only created if a weight other than {@link IWeightedEdge#SIMPLE} is set.
+ * The {@link #getLinkedNeighbourWeightMap() link weight map} is a view of both.
  *
  */
 public class Cell2DTetragon extends AbstractCell2DCartesian implements ICell2DTetragon {
@@ -40,8 +45,14 @@ public class Cell2DTetragon extends AbstractCell2DCartesian implements ICell2DTe
     private ICell2DTetragon en;
     private ICell2DTetragon wn;
     private ICell2DTetragon sn;
-    // -- Linked Neighbour Cell Weight Map
-    private final Map<ICell, Long> linkWeightMap = new HashMap<>();
+    // -- Linked Neighbours
+    private byte linkBits;
+    // -- Link weights by direction, lazy
+    private long[] linkWeights;
+    // -- View of links, lazy
+    private Map<ICell, Long> linkWeightMap;
+    // -- Mask of the grid holding the masked state, null if the cell holds it
+    private IGrid2D.IMask2D mask;
 
     /**
      * C.
@@ -63,9 +74,46 @@ public class Cell2DTetragon extends AbstractCell2DCartesian implements ICell2DTe
      */
     public static Cell2DTetragon of(final long gridUID, final int row, final int column) {
         MazeUtils.throwIfIllegalPosition2D(row, column);
-        return new Cell2DTetragon(gridUID, row, column);
+        Cell2DTetragon cell = new Cell2DTetragon(gridUID, row, column);
+        cell.init();
+        return cell;
     }
 
+    /**
+     * Create a tetragonal cell whose masked state is the state of its location in a grid mask.
+     * <p>
+     *     So {@link #isUnmasked()} and {@link #setMasked(boolean)} read and write the mask.
+     * </p>
+     * @param gridUID grid uid
+     * @param row row &ge; 0
+     * @param column column &ge; 0
+     * @param mask mask of the grid
+     * @return tetragonal cell
+     * @throws IllegalArgumentException if {@code row}|{@code column} are not inbound
+     * @throws NullPointerException if {@code mask}
+     */
+    public static Cell2DTetragon of(final long gridUID, final int row, final int column, final IGrid2D.IMask2D mask) {
+        Objects.requireNonNull(mask);
+        Cell2DTetragon cell = of(gridUID, row, column);
+        cell.mask = mask;
+        return cell;
+    }
+
+    @Override
+    public boolean isUnmasked() {
+        return null == mask ? super.isUnmasked() : mask.isUnmasked(row, column);
+    }
+
+    @Override
+    public void setMasked(boolean masked) {
+        if (null == mask) {
+            super.setMasked(masked);
+        } else if (masked) {
+            mask.mask(row, column);
+        } else {
+            mask.unmask(row, column);
+        }
+    }
 
 
     @Override
@@ -73,12 +121,9 @@ public class Cell2DTetragon extends AbstractCell2DCartesian implements ICell2DTe
         return "Cell2DTetragon{"
                 + "row='" + row
                 + "', column='" + column
-                + "', nn='" + nn
-                + "', en='" + en
-                + "', wn='" + wn
-                + "', sn='" + sn
+                + "', links='" + Integer.toBinaryString(linkBits)
                 + "', guid='" + guid
-                + "', masked='" + masked
+                + "', masked='" + !isUnmasked()
                 + "'}";
     }
 
@@ -135,25 +180,266 @@ public class Cell2DTetragon extends AbstractCell2DCartesian implements ICell2DTe
     this.sn = Objects.requireNonNull(neighbourSouth);
     }
 
+    @Override
+    public ICell2DTetragon getNeighbour(Direction2DTetragon direction) {
+        return switch (direction) {
+            case NORTH -> nn;
+            case EAST -> en;
+            case WEST -> wn;
+            case SOUTH -> sn;
+        };
+    }
+
+    @Override
+    public boolean isLinked(Direction2DTetragon direction) {
+        return 0 != (linkBits & direction.bit());
+    }
+
+    @Override
+    public boolean isLinked(ICell cell) {
+        Objects.requireNonNull(cell, "Cell is null!");
+        Direction2DTetragon dir = directionTo(cell);
+        return null != dir && isLinked(dir);
+    }
+
+    @Override
+    public boolean isNeighbour(ICell cell) {
+        Objects.requireNonNull(cell);
+        return null != directionTo(cell);
+    }
+
+    @Override
+    public void link(ICell other, boolean bidi, long weight) {
+        Objects.requireNonNull(other);
+        // link to self !?
+        if(this == other) {
+            throw new IllegalArgumentException("Try to link to yourself!");
+        }
+        Direction2DTetragon dir = directionTo(other);
+        // other cell must be a neighbour cell
+        if(null == dir) {
+            LOG.warn("Cell link '{}' is not a neighbour of this '{}'!", other, this);
+            return;
+        }
+        // already linked !?
+        if(isLinked(dir)) {
+            return;
+        }
+        setLink(dir, weight);
+        if(bidi) {
+            other.link(this, false, weight);
+        }
+    }
+
+    @Override
+    public void unlink(ICell other, boolean bidi) {
+        Objects.requireNonNull(other);
+        if(this == other) {
+            throw new IllegalArgumentException("Try to unlink from yourself!");
+        }
+        Direction2DTetragon dir = directionTo(other);
+        // other cell must be a neighbour cell
+        if(null == dir) {
+            LOG.warn("Cell unlink '{}' is not a neighbour of this '{}'!", other, this);
+            return;
+        }
+        // not linked !?
+        if(!isLinked(dir)) {
+            return;
+        }
+        clearLink(dir);
+        if(bidi) {
+            other.unlink(this, false);
+        }
+    }
+
     @Override
     public void setLinkWeight(ICell neighbourCell, long weight) {
         // TODO relax check whether the cell is a neighbour cell and
         // If so set the link here
-        if(!getLinkedNeighbours().contains(neighbourCell)) {
-            throw new IllegalArgumentException("");
+        Objects.requireNonNull(neighbourCell);
+        Direction2DTetragon dir = directionTo(neighbourCell);
+        if(null == dir || !isLinked(dir)) {
+            throw new IllegalArgumentException("Cell '" + neighbourCell + "' is not linked!");
         }
 
-        linkWeightMap.put(neighbourCell, weight);
+        setLink(dir, weight);
     }
 
+    @Override
+    public Set<ICell> getLinkedNeighbours() {
+        return Collections.unmodifiableSet(getLinkedNeighbourWeightMap().keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The map is a view of the link bits and weights of this cell.
+     * Putting a cell which is not a neighbour throws an {@link IllegalArgumentException}.
+     */
     @Override
     public Map<ICell, Long> getLinkedNeighbourWeightMap() {
+        if(null == linkWeightMap) {
+            linkWeightMap = new LinkWeightMap();
+        }
         return linkWeightMap;
     }
 
+    @Override
+    public long getLinkWeight(Direction2DTetragon direction) {
+        return isLinked(direction) ? linkWeight(direction) : IWeightedEdge.INF;
+    }
+
     @Override
     public Set<ICell> getNeighbours() {
-        return Set.of(nn, wn, en, sn);
+        // all border neighbours are the same instance
+        // so we can not use Set.of(...)
+        Set<ICell> nbS = new HashSet<>();
+        forEachNeighbour(nbS::add);
+        return Collections.unmodifiableSet(nbS);
+    }
+
+    /**
+     * Return the direction to a neighbour cell.
+     * @param cell cell
+     * @return direction or {@code null} if {@code cell} is not a - traversable - neighbour
+     */
+    private Direction2DTetragon directionTo(ICell cell) {
+        if(cell.isBorder()) {
+            return null;
+        }
+        if(cell == nn) {
+            return Direction2DTetragon.NORTH;
+        }
+        if(cell == en) {
+            return Direction2DTetragon.EAST;
+        }
+        if(cell == wn) {
+            return Direction2DTetragon.WEST;
+        }
+        if(cell == sn) {
+            return Direction2DTetragon.SOUTH;
+        }
+        return null;
+    }
+
+    private void setLink(Direction2DTetragon direction, long weight) {
+        linkBits |= (byte) direction.bit();
+        if(null == linkWeights) {
+            if(IWeightedEdge.SIMPLE == weight) {
+                return;
+            }
+            linkWeights = new long[] {IWeightedEdge.SIMPLE, IWeightedEdge.SIMPLE, IWeightedEdge.SIMPLE, IWeightedEdge.SIMPLE};
+        }
+        linkWeights[direction.ordinal()] = weight;
+    }
+
+    private void clearLink(Direction2DTetragon direction) {
+        linkBits &= (byte) ~direction.bit();
+        if(null != linkWeights) {
+            linkWeights[direction.ordinal()] = IWeightedEdge.SIMPLE;
+        }
+    }
+
+    private long linkWeight(Direction2DTetragon direction) {
+        return null == linkWeights ? IWeightedEdge.SIMPLE : linkWeights[direction.ordinal()];
+    }
+
+    /**
+     * Map view of the links.
+     */
+    private final class LinkWeightMap extends AbstractMap<ICell, Long> {
+
+        @Override
+        public int size() {
+            return Integer.bitCount(linkBits);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof ICell cell && isLinked(cell);
+        }
+
+        @Override
+        public Long get(Object key) {
+            return key instanceof ICell cell && isLinked(cell) ? linkWeight(directionTo(cell)) : null;
+        }
+
+        @Override
+        public Long put(ICell key, Long value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            Direction2DTetragon dir = directionTo(key);
+            if(null == dir) {
+                throw new IllegalArgumentException("Cell '" + key + "' is not a neighbour!");
+            }
+            Long old = isLinked(dir) ? linkWeight(dir) : null;
+            setLink(dir, value);
+            return old;
+        }
+
+        @Override
+        public Long remove(Object key) {
+            if(!(key instanceof ICell cell)) {
+                return null;
+            }
+            Direction2DTetragon dir = directionTo(cell);
+            if(null == dir || !isLinked(dir)) {
+                return null;
+            }
+            long old = linkWeight(dir);
+            clearLink(dir);
+            return old;
+        }
+
+        @Override
+        public Set<Entry<ICell, Long>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<ICell, Long>> iterator() {
+                    return new Iterator<>() {
+                        private int next = nextLinked(0);
+                        private Direction2DTetragon last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < 4;
+                        }
+
+                        @Override
+                        public Entry<ICell, Long> next() {
+                            if(!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            last = Direction2DTetragon.of(next);
+                            next = nextLinked(next + 1);
+                            return new SimpleImmutableEntry<>(getNeighbour(last), linkWeight(last));
+                        }
+
+                        @Override
+                        public void remove() {
+                            if(null == last) {
+                                throw new IllegalStateException();
+                            }
+                            clearLink(last);
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return LinkWeightMap.this.size();
+                }
+            };
+        }
+
+        private int nextLinked(int from) {
+            int i = from;
+            while(i < 4 && !isLinked(Direction2DTetragon.of(i))) {
+                i++;
+            }
+            return i;
+        }
     }
 
     public static ICell2DTetragon borderCell(long guid) {
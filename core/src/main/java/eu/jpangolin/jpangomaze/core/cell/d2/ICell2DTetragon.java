@@ -16,6 +16,14 @@
 
 package eu.jpangolin.jpangomaze.core.cell.d2;
 
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.random.RandomGenerator;
 
 /**
  * A tetragon - rectangular - cell in 2D.
@@ -58,6 +66,110 @@ public interface ICell2DTetragon extends ICell2DCartesian {
      */
     ICell2DTetragon getNeighbourSouth();
 
+    /**
+     * Return the neighbour in a direction.
+     * @param direction direction
+     * @return neighbour
+     * @throws NullPointerException if {@code direction}
+     */
+    default ICell2DTetragon getNeighbour(Direction2DTetragon direction) {
+        return switch (direction) {
+            case NORTH -> getNeighbourNorth();
+            case EAST -> getNeighbourEast();
+            case WEST -> getNeighbourWest();
+            case SOUTH -> getNeighbourSouth();
+        };
+    }
+
+    /**
+     * Is this cell linked to the neighbour in a direction.
+     * @param direction direction
+     * @return {@code true} if this cell is linked to the neighbour in {@code direction}
+     * @throws NullPointerException if {@code direction}
+     */
+    default boolean isLinked(Direction2DTetragon direction) {
+        ICell2DTetragon nb = getNeighbour(direction);
+        return null != nb && isLinked(nb);
+    }
+
+    /**
+     * Return the weight of the link to the neighbour in a direction.
+     * @param direction direction
+     * @return weight or {@link IWeightedEdge#INF} if not linked
+     * @throws NullPointerException if {@code direction}
+     */
+    default long getLinkWeight(Direction2DTetragon direction) {
+        return isLinked(direction)
+                ? getLinkedNeighbourWeightMap().getOrDefault(getNeighbour(direction), IWeightedEdge.SIMPLE)
+                : IWeightedEdge.INF;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote We pass the neighbours in the order of {@link Direction2DTetragon}.
+     */
+    @Override
+    default void forEachNeighbour(Consumer<? super ICell> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < 4; i++) {
+            ICell2DTetragon nb = getNeighbour(Direction2DTetragon.of(i));
+            // border cells have no neighbours
+            if (null != nb) {
+                action.accept(nb);
+            }
+        }
+    }
+
+    @Override
+    default void forEachLinkedNeighbour(ObjLongConsumer<? super ICell> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < 4; i++) {
+            Direction2DTetragon dir = Direction2DTetragon.of(i);
+            if (isLinked(dir)) {
+                action.accept(getNeighbour(dir), getLinkWeight(dir));
+            }
+        }
+    }
+
+    @Override
+    default int traversableNeighbourCount() {
+        int cnt = 0;
+        for (int i = 0; i < 4; i++) {
+            if (isTraversable(Direction2DTetragon.of(i))) {
+                cnt++;
+            }
+        }
+        return cnt;
+    }
+
+    @Override
+    default ICell2DTetragon randomTraversableNeighbour(RandomGenerator random) {
+        Objects.requireNonNull(random);
+        int cnt = traversableNeighbourCount();
+        if (0 == cnt) {
+            throw new IllegalStateException("Cell '" + this + "' has no traversable neighbour!");
+        }
+        int pick = random.nextInt(cnt);
+        for (int i = 0; i < 4; i++) {
+            Direction2DTetragon dir = Direction2DTetragon.of(i);
+            if (isTraversable(dir) && 0 == pick--) {
+                return getNeighbour(dir);
+            }
+        }
+        throw new AssertionError("Traversable neighbours changed!");
+    }
+
+    /**
+     * Can we traverse the neighbour in a direction.
+     * @param direction direction
+     * @return {@code true} if the neighbour in {@code direction} is {@link #isLinkable() linkable}
+     * @throws NullPointerException if {@code direction}
+     */
+    default boolean isTraversable(Direction2DTetragon direction) {
+        ICell2DTetragon nb = getNeighbour(direction);
+        return null != nb && nb.isLinkable();
+    }
+
     /**
      * Set north neighbour.
      * @param neighbourNorth north neighbour
@@ -19,12 +19,12 @@ package eu.jpangolin.jpangomaze.core.distance;
 
 import eu.jpangolin.jpangomaze.core.IWeightedEdge;
 import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.jfr.DistanceEvent;
+import eu.jpangolin.jpangomaze.core.util.IndexedMinHeap;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.PriorityQueue;
+import java.util.*;
 
 /**
  * Edgar Dijkstra's modified algo for finding the shortest path in a graph.
@@ -58,7 +58,8 @@ public class Dijkstras implements IDistanceMeasurer {
     @Override
     public IDistanceResult analyse(ICell rootCell) {
         Objects.requireNonNull(rootCell);
-
+        DistanceEvent event = new DistanceEvent();
+        event.begin();
 
         final Map<ICell, IPathLink> pathMap = new HashMap<>();
         pathMap.put(rootCell, PathLinkRec.ofRoot(rootCell));
@@ -71,66 +72,113 @@ public class Dijkstras implements IDistanceMeasurer {
         weightQueue.add(new DistanceRec<>(rootCell, IWeightedEdge.FREE));
 
 
+        long pops = 0L;
         while (!weightQueue.isEmpty()) {
             // the next cell with the lowest cost to travel
             // first cell is root
             //
             IDistance<ICell> leastDist = weightQueue.poll();
-            LOG.info("Next Distance = '{}'", leastDist);
+            pops++;
             ICell leastCell = leastDist.cell();
             long leastWeight = leastDist.weight();
 
             // link to the previous cell
-            IPathLink prevLink = pathMap.get(leastCell);
+            final IPathLink prevLink = pathMap.get(leastCell);
+            // we added the cell again with a lower cost
+            // so this distance is outdated
+            if (prevLink.weight() < leastWeight) {
+                continue;
+            }
             // for all linked cells
             // so no masked and no border cells and linked to the least cell
             // We calculate the cost to travel the edge
-            for (ICell nb : leastCell.getLinkedNeighbours()) {
-                LOG.info("Neighbour edge of '{}' -> '{}'", leastCell, nb);
+            leastCell.forEachLinkedNeighbour((nb, weight) -> {
 
-                // get the weight to traverse the neighbour or SIMPLE if not set
-                long weight = leastCell.getLinkedNeighbourWeightMap().getOrDefault(nb, IWeightedEdge.SIMPLE);
                 long travelCost = leastWeight + weight;
-                DistanceRec<ICell> nbDist = new DistanceRec<>(nb, travelCost);
 
                 // if did not set the cost for a neighbour
                 // we set this here and add the neighbour to the
                 // queue too
-                if (!pathMap.containsKey(nb)) {
-
-                    LOG.info("New Cell prev link = {}", prevLink);
-                    IPathLink old = pathMap.put(nb, new PathLinkRec(nb, travelCost, prevLink, prevLink.steps() + 1));
-                    LOG.info("Old was  '{}'", old);
-                    boolean added = weightQueue.add(nbDist);
-                    LOG.info("Added to queue ? '{}'", added);
-                } else {
-                    // if we have already labeled a distance to the neighbour
-                    // we check whether the new cost the know neighbour and
-                    // also known distance
-                    // if so we replace the weight for this path!
-                    //
-                    // AFAIU the edge we travel with this lower cost
-                    // can NOT be traveled earlier!
-                    // so we add this distance to our distance queue!
-                    IPathLink oldLink = pathMap.get(nb);
-                    long oldWeight = oldLink.weight();
-                    LOG.info("We already know the cell {}, and the old cost = {} and new = {}", nb, oldWeight, travelCost);
-
-                    if (oldWeight > travelCost) {
-
-                        boolean replaced = pathMap.replace(nb, oldLink, new PathLinkRec(nb, travelCost, prevLink, prevLink.steps() + 1));
-                        LOG.info("New cost = {} < then {}", travelCost, oldWeight);
-                        boolean added = weightQueue.add(nbDist);
-                        LOG.info("Added? = {}", added);
-                    }
+                //
+                // if we have already labeled a distance to the neighbour
+                // we check whether the new cost is lower
+                // if so we replace the weight for this path!
+                //
+                // AFAIU the edge we travel with this lower cost
+                // can NOT be traveled earlier!
+                // so we add this distance to our distance queue!
+                IPathLink oldLink = pathMap.get(nb);
+                if (null == oldLink || oldLink.weight() > travelCost) {
+
+                    pathMap.put(nb, new PathLinkRec(nb, travelCost, prevLink, prevLink.steps() + 1));
+                    weightQueue.add(new DistanceRec<>(nb, travelCost));
                 }
-
-
-            }
+            });
 
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.setMeasurer(getClass());
+            event.setCounters(pathMap.size(), pops);
+            event.commit();
+        }
         return new DistanceResultRec(pathMap);
     }
 
-}
\ No newline at end of file
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Here we store weights, steps and previous cells by cell id and use
+     *     an {@link IndexedMinHeap} with decrease key instead of a queue of distances.
+     * </p>
+     */
+    @Override
+    public <C extends ICell> GridDistanceResult<C> analyse(IGrid<C> grid, C rootCell) {
+        Objects.requireNonNull(grid);
+        Objects.requireNonNull(rootCell);
+
+        DistanceEvent event = new DistanceEvent();
+        event.begin();
+
+        final int cap = grid.getCapacity();
+        final int rootId = grid.cellId(rootCell);
+        final long[] weights = new long[cap];
+        final int[] steps = new int[cap];
+        final int[] parents = new int[cap];
+        final int[] order = new int[cap];
+        Arrays.fill(weights, IWeightedEdge.INF);
+        Arrays.fill(parents, IGrid.NO_CELL);
+
+        final IndexedMinHeap heap = new IndexedMinHeap(cap);
+        weights[rootId] = IWeightedEdge.FREE;
+        heap.offer(rootId, IWeightedEdge.FREE);
+        int reached = 0;
+
+        while (!heap.isEmpty()) {
+            // with weights >= 0 the least cell is final
+            final int leastId = heap.poll();
+            order[reached++] = leastId;
+            final long leastWeight = weights[leastId];
+
+            grid.forEachLinkedNeighbourId(leastId, (nbId, weight) -> {
+                long travelCost = leastWeight + weight;
+                if (travelCost < weights[nbId]) {
+                    weights[nbId] = travelCost;
+                    steps[nbId] = steps[leastId] + 1;
+                    parents[nbId] = leastId;
+                    heap.offer(nbId, travelCost);
+                }
+            });
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setMeasurer(getClass());
+            event.setGrid(grid);
+            event.setCounters(reached, reached);
+            event.commit();
+        }
+        return new GridDistanceResult<>(grid, weights, steps, parents, order, reached);
+    }
+}
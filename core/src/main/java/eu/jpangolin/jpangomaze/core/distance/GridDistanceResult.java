@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.distance;
+
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+
+import java.util.*;
+
+/**
+ * Result of a {@link IDistanceMeasurer} stored by {@linkplain IGrid#cellId(ICell) cell id}.
+ * <p>
+ *     The weights, steps and previous cells are stored in primitive arrays.
+ *     The {@link #pathLinkMap() path link map} is created on first request only.
+ * </p>
+ * @param <C> cell type
+ * @author jTzipi
+ */
+public final class GridDistanceResult<C extends ICell> implements IDistanceResult {
+
+    private final IGrid<C> grid;
+    private final long[] weights;   // id -> weight, INF if not reached
+    private final int[] steps;      // id -> steps
+    private final int[] parents;    // id -> previous id on the path
+    private final int[] order;      // reached ids, each after its previous id
+    private final int reached;
+    // lazy
+    private Map<ICell, IPathLink> pathLinkMap;
+
+    /**
+     * Grid Distance Result.
+     * @param grid grid
+     * @param weights weight for each id or {@link IWeightedEdge#INF}
+     * @param steps steps for each id
+     * @param parents previous id for each id or {@link IGrid#NO_CELL}
+     * @param order reached ids ordered such that each id follows its previous id
+     * @param reached number of reached ids
+     */
+    GridDistanceResult(final IGrid<C> grid, final long[] weights, final int[] steps, final int[] parents, final int[] order, final int reached) {
+        this.grid = grid;
+        this.weights = weights;
+        this.steps = steps;
+        this.parents = parents;
+        this.order = order;
+        this.reached = reached;
+    }
+
+    /**
+     * Return the analysed grid.
+     * @return grid
+     */
+    public IGrid<C> grid() {
+        return grid;
+    }
+
+    /**
+     * Return the id of the root cell.
+     * @return root cell id
+     */
+    public int rootId() {
+        return order[0];
+    }
+
+    /**
+     * Return the number of cells reached from the root.
+     * @return number of reached cells including the root
+     */
+    public int reachedCount() {
+        return reached;
+    }
+
+    /**
+     * Return whether a cell was reached.
+     * @param id cell id
+     * @return {@code true} if reached from the root
+     */
+    public boolean isReached(int id) {
+        return IWeightedEdge.INF != weights[id];
+    }
+
+    /**
+     * Accumulated weight from the root to a cell.
+     * @param id cell id
+     * @return weight or {@link IWeightedEdge#INF} if not reached
+     */
+    public long weight(int id) {
+        return weights[id];
+    }
+
+    /**
+     * Steps from the root to a cell.
+     * @param id cell id
+     * @return steps or {@code -1} if not reached
+     */
+    public int steps(int id) {
+        return isReached(id) ? steps[id] : -1;
+    }
+
+    /**
+     * Id of the previous cell on the path to the root.
+     * @param id cell id
+     * @return previous id or {@link IGrid#NO_CELL} for the root and cells not reached
+     */
+    public int parentId(int id) {
+        return parents[id];
+    }
+
+    @Override
+    public Map<ICell, IPathLink> pathLinkMap() {
+        if (null == pathLinkMap) {
+            Map<ICell, IPathLink> linkMap = HashMap.newHashMap(reached);
+            IPathLink[] linkA = new IPathLink[grid.getCapacity()];
+            for (int i = 0; i < reached; i++) {
+                int id = order[i];
+                C cell = grid.cellAt(id);
+                IPathLink prev = IGrid.NO_CELL == parents[id] ? IPathLink.NullLink.SINGLETON : linkA[parents[id]];
+                IPathLink link = new PathLinkRec(cell, weights[id], prev, steps[id]);
+                linkA[id] = link;
+                linkMap.put(cell, link);
+            }
+            pathLinkMap = Collections.unmodifiableMap(linkMap);
+        }
+        return pathLinkMap;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ICell> shortestPathFor(ICell cell) {
+        Objects.requireNonNull(cell);
+        if (cell.guid() != grid.getGUID()) {
+            return List.of();
+        }
+        // same grid so the cell is a C
+        int id = grid.cellId((C) cell);
+        if (!isReached(id)) {
+            return List.of();
+        }
+        List<ICell> shortestPathL = new ArrayList<>(steps[id]);
+        while (IGrid.NO_CELL != parents[id]) {
+            shortestPathL.add(grid.cellAt(id));
+            id = parents[id];
+        }
+        return shortestPathL;
+    }
+}
@@ -17,6 +17,9 @@
 package eu.jpangolin.jpangomaze.core.distance;
 
 import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+
+import java.util.Objects;
 
 /**
  * Specify a way to measure <em>distances</em>.
@@ -25,4 +28,22 @@ import eu.jpangolin.jpangomaze.core.cell.ICell;
 public interface IDistanceMeasurer {
 
     IDistanceResult analyse( ICell rootCell );
+
+    /**
+     * Analyse the distances of a grid from a root cell.
+     * <p>
+     *     Knowing the grid, implementations can store their state by {@linkplain IGrid#cellId(ICell) cell id}
+     *     in primitive arrays instead of maps keyed by cells.
+     * </p>
+     * @param grid grid of {@code rootCell}
+     * @param rootCell cell to start
+     * @return result
+     * @param <C> cell type
+     * @throws NullPointerException if {@code grid} or {@code rootCell}
+     * @throws IllegalArgumentException if {@code rootCell} is not part of {@code grid}
+     */
+    default <C extends ICell> IDistanceResult analyse( IGrid<C> grid, C rootCell ) {
+        Objects.requireNonNull(grid);
+        return analyse(rootCell);
+    }
 }
\ No newline at end of file
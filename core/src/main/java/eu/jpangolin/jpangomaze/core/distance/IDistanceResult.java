@@ -17,6 +17,9 @@
 package eu.jpangolin.jpangomaze.core.distance;
 
 import eu.jpangolin.jpangomaze.core.cell.ICell;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,4 +37,28 @@ public interface IDistanceResult {
      * @return Map of cells and its previous cell
      */
     Map<ICell, IPathLink> pathLinkMap();
+
+    /**
+     * Return the shortest path from a cell back to the root cell.
+     * <p>
+     *     The path starts with {@code cell} and does not contain the root cell.
+     * </p>
+     * @param cell cell
+     * @return path or an empty list if {@code cell} was not reached
+     */
+    default List<ICell> shortestPathFor(ICell cell) {
+        IPathLink pathLink = pathLinkMap().get(cell);
+        if(null == pathLink) {
+            return List.of();
+        }
+
+        List<ICell> shortestPathL = new ArrayList<>();
+        while( null != pathLink.link() && !pathLink.link().equals(IPathLink.NullLink.SINGLETON) ) {
+
+            shortestPathL.add(pathLink.node());
+            pathLink = pathLink.link();
+        }
+
+        return shortestPathL;
+    }
 }
\ No newline at end of file
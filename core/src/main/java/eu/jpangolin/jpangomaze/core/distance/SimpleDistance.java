@@ -18,6 +18,8 @@ package eu.jpangolin.jpangomaze.core.distance;
 
 import eu.jpangolin.jpangomaze.core.IWeightedEdge;
 import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.jfr.DistanceEvent;
 
 import java.util.*;
 
@@ -46,17 +48,21 @@ public class SimpleDistance implements IDistanceMeasurer {
     @Override
     public IDistanceResult analyse(ICell rootCell) {
         Objects.requireNonNull(rootCell);
+        DistanceEvent event = new DistanceEvent();
+        event.begin();
         final Map<ICell, IPathLink> distMap = new HashMap<>();
 
-        distMap.put(rootCell, new PathLinkRec(rootCell, IWeightedEdge.FREE, null, 0));
+        distMap.put(rootCell, PathLinkRec.ofRoot(rootCell));
 
         List<ICell> frontierL = new ArrayList<>();
         frontierL.add(rootCell);
+        long pops = 0L;
 
         while (!frontierL.isEmpty()) {
             List<ICell> activeL = new ArrayList<>();
 
             for(ICell labeledCell : frontierL ) {
+                pops++;
                 IPathLink oldLink = distMap.get(labeledCell);
                 long oldWeight = oldLink.weight();
                 int oldStep = oldLink.steps();
@@ -64,8 +70,10 @@ public class SimpleDistance implements IDistanceMeasurer {
 
 
                     IPathLink pathLink = new PathLinkRec(linkedCell, oldWeight + 1, oldLink, oldStep + 1 );
-                    distMap.putIfAbsent(linkedCell, pathLink);
-                    activeL.add(linkedCell);
+                    // only cells labeled the first time are new to the frontier
+                    if (null == distMap.putIfAbsent(linkedCell, pathLink)) {
+                        activeL.add(linkedCell);
+                    }
                 }
 
             }
@@ -73,6 +81,65 @@ public class SimpleDistance implements IDistanceMeasurer {
             frontierL = activeL;
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.setMeasurer(getClass());
+            event.setCounters(distMap.size(), pops);
+            event.commit();
+        }
         return new DistanceResultRec(distMap);
     }
-}
\ No newline at end of file
+
+    /**
+     * Set distances for each cell we can reach from the root cell.
+     * <p>
+     *     Breadth first by cell id. The frontier is an {@code int[]} queue.
+     * </p>
+     * @param grid grid of {@code rootCell}
+     * @param rootCell cell to start
+     */
+    @Override
+    public <C extends ICell> GridDistanceResult<C> analyse(IGrid<C> grid, C rootCell) {
+        Objects.requireNonNull(grid);
+        Objects.requireNonNull(rootCell);
+
+        DistanceEvent event = new DistanceEvent();
+        event.begin();
+
+        final int cap = grid.getCapacity();
+        final int rootId = grid.cellId(rootCell);
+        final long[] weights = new long[cap];
+        final int[] steps = new int[cap];
+        final int[] parents = new int[cap];
+        // the queue of cells to visit is also the order we reached them
+        final int[] order = new int[cap];
+        Arrays.fill(weights, IWeightedEdge.INF);
+        Arrays.fill(parents, IGrid.NO_CELL);
+
+        weights[rootId] = IWeightedEdge.FREE;
+        order[0] = rootId;
+        int head = 0;
+        int[] tail = {1};
+
+        while (head < tail[0]) {
+            final int labeledId = order[head++];
+            grid.forEachLinkedNeighbourId(labeledId, (nbId, weight) -> {
+                if (IWeightedEdge.INF == weights[nbId]) {
+                    weights[nbId] = weights[labeledId] + 1;
+                    steps[nbId] = steps[labeledId] + 1;
+                    parents[nbId] = labeledId;
+                    order[tail[0]++] = nbId;
+                }
+            });
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setMeasurer(getClass());
+            event.setGrid(grid);
+            event.setCounters(tail[0], tail[0]);
+            event.commit();
+        }
+        return new GridDistanceResult<>(grid, weights, steps, parents, order, tail[0]);
+    }
+}
@@ -16,9 +16,11 @@
 
 package eu.jpangolin.jpangomaze.core.grid;
 
+import eu.jpangolin.jpangomaze.core.IDirection;
 import eu.jpangolin.jpangomaze.core.cell.ICell;
 
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Grid Interface.
@@ -26,10 +28,23 @@ import java.util.List;
  * Less than
  * described in the Book on page 20.
  * Because this is introduced for a two-dimensional grid.
+ * <p>
+ *     Each location of a grid has a dense and stable {@code int} <em>cell id</em> in
+ *     [0 .. {@link #getCapacity() capacity}).
+ *     Masked cells have an id too.
+ *     Algorithms can use the ids to store state in primitive arrays
+ *     like {@code int[] parent} or {@code long[] distance} instead of maps keyed by cells.
+ * </p>
  * @param <C> Arbitrary cell type
  */
 public interface IGrid<C extends ICell> {
 
+    /**
+     * Id of a not existing cell.
+     * E.G. the neighbour id of a cell at the border.
+     */
+    int NO_CELL = -1;
+
 
     /**
      * Return a random cell of this grid.
@@ -38,6 +53,15 @@ public interface IGrid<C extends ICell> {
      */
     C getRandomCell();
 
+    /**
+     * Return a random cell of this grid.
+     * @implSpec cell should be not masked
+     * @param random random generator
+     * @return random cell
+     * @throws NullPointerException if {@code random}
+     */
+    C getRandomCell(RandomGenerator random);
+
     /**
      * Return all cells living in this grid.
      * <p>
@@ -72,4 +96,76 @@ public interface IGrid<C extends ICell> {
      * @return unique grid id
      */
     long getGUID();
-}
\ No newline at end of file
+
+    /**
+     * Return the number of cell ids.
+     * That is all locations of this grid including masked cells.
+     * @return number of cell ids
+     */
+    int getCapacity();
+
+    /**
+     * Return the id of a cell of this grid.
+     * @param cell cell
+     * @return cell id [0 .. {@link #getCapacity() capacity})
+     * @throws NullPointerException if {@code cell}
+     * @throws IllegalArgumentException if {@code cell} is not part of this grid
+     */
+    int cellId(C cell);
+
+    /**
+     * Return the cell for an id.
+     * @param id cell id
+     * @return cell
+     * @throws IndexOutOfBoundsException if {@code id} is not in [0 .. {@link #getCapacity() capacity})
+     */
+    C cellAt(int id);
+
+    /**
+     * Return whether the cell with id is unmasked.
+     * @param id cell id
+     * @return {@code true} if the cell is <b>un</b>masked
+     * @throws IndexOutOfBoundsException if {@code id} is not in [0 .. {@link #getCapacity() capacity})
+     */
+    boolean isUnmasked(int id);
+
+    /**
+     * Return the id of the neighbour of a cell in a direction.
+     * @param id cell id
+     * @param direction direction
+     * @return neighbour id or {@link #NO_CELL} if there is no neighbour in this grid
+     * @throws NullPointerException if {@code direction}
+     * @throws IllegalArgumentException if {@code direction} is not a direction of this grid
+     */
+    int neighbourId(int id, IDirection direction);
+
+    /**
+     * Return whether the cell with {@code id} is linked to the cell with {@code otherId}.
+     * @param id cell id
+     * @param otherId other cell id
+     * @return {@code true} if linked
+     */
+    boolean isLinked(int id, int otherId);
+
+    /**
+     * Perform an action for each linked neighbour of the cell with {@code id}.
+     * @param id cell id
+     * @param action action accepting the neighbour id and link weight
+     * @throws NullPointerException if {@code action}
+     */
+    void forEachLinkedNeighbourId(int id, ILinkConsumer action);
+
+    /**
+     * Consumer of a link to a neighbour cell id.
+     */
+    @FunctionalInterface
+    interface ILinkConsumer {
+
+        /**
+         * Accept a link.
+         * @param neighbourId id of the linked neighbour
+         * @param weight weight of the link
+         */
+        void accept(int neighbourId, long weight);
+    }
+}
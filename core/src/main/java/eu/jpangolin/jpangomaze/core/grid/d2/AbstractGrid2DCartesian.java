@@ -16,15 +16,12 @@
 
 package eu.jpangolin.jpangomaze.core.grid.d2;
 
-import eu.jpangolin.jpangomaze.core.ILocation2D;
-import eu.jpangolin.jpangomaze.core.Location2D;
 import eu.jpangolin.jpangomaze.core.MazeUtils;
 
-import eu.jpangolin.jpangomaze.core.cell.ICell;
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DCartesian;
 
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.random.RandomGenerator;
 
 import static eu.jpangolin.jpangomaze.core.MazeUtils.clamp;
 import static eu.jpangolin.jpangomaze.core.MazeUtils.throwIfCellOutOfBounds2DCartesian;
@@ -42,6 +39,8 @@ public abstract class AbstractGrid2DCartesian<C extends ICell2DCartesian> extend
     final int cols;     // columns
     final Mask2DCartesian mask2D;
     final long guid;
+    // -- Dense index of unmasked cells, rebuilt if the mask changed
+    private volatile UnmaskedIndex<C> unmaskedIndex;
 
     /**
      * Abstract 2D Cartesian grid.
@@ -58,13 +57,15 @@ public abstract class AbstractGrid2DCartesian<C extends ICell2DCartesian> extend
     }
 
     /**
-     * Return the - prepared and configured - 2D array grid.
-     * @return grid
+     * Return the cell for [{@code row},{@code column}] without bound check.
+     * @param row row [0 .. {@link #getRows() rows} -1]
+     * @param column column [0 .. {@link #getColumns() columns} -1]
+     * @return cell
      * @implSpec The grid should be {@linkplain #prepare() prepared} and {@linkplain #configure() configured}.
      * @see #prepare()
      * @see #configure()
      */
-    abstract C[][] grid();
+    abstract C cell(int row, int column);
 
 
     @Override
@@ -85,7 +86,12 @@ public abstract class AbstractGrid2DCartesian<C extends ICell2DCartesian> extend
 
     @Override
     public C getRandomCell() {
-        return MazeUtils.getRandomCell(getCells());
+        return MazeUtils.getRandomCell(unmaskedIndex().cellL());
+    }
+
+    @Override
+    public C getRandomCell(RandomGenerator random) {
+        return MazeUtils.getRandomCell(unmaskedIndex().cellL(), random);
     }
 
     @Override
@@ -96,25 +102,26 @@ public abstract class AbstractGrid2DCartesian<C extends ICell2DCartesian> extend
 
     @Override
     public List<C> getCells() {
-        return Stream.of(grid())
-                .flatMap(Stream::of)
-                .filter( ICell::isUnmasked)
-                .toList();
+        return unmaskedIndex().cellL();
     }
 
     @Override
     public List<C> getCellsForRow(int row) {
         MazeUtils.throwIfRowOutOfBounds2DCartesian(row, getRows());
 
-        return Stream.of(grid()[row])
-                .filter( ICell::isUnmasked)
-                .toList();
+        List<C> cellL = new ArrayList<>(getColumns());
+        for (int ic = 0; ic < getColumns(); ic++) {
+            if (!mask2D.isMasked((long) row * cols + ic)) {
+                cellL.add(cell(row, ic));
+            }
+        }
+        return Collections.unmodifiableList(cellL);
     }
 
     @Override
     public C getCell(int row, int column) {
-        MazeUtils.throwIfCellOutOfBounds2DCartesian(row, getRows(), column, getColumns());
-        return grid()[row][column];
+        MazeUtils.throwIfCellOutOfBounds2DCartesian(row, column, getRows(), getColumns());
+        return cell(row, column);
     }
 
     @Override
@@ -122,39 +129,257 @@ public abstract class AbstractGrid2DCartesian<C extends ICell2DCartesian> extend
         return guid;
     }
 
+    @Override
+    public boolean isUnmasked(int id) {
+        Objects.checkIndex(id, getCapacity());
+        return !mask2D.isMasked(id);
+    }
+
+    /**
+     * Return the index of unmasked cells.
+     * <p>
+     *     If the mask changed since the last call we rebuild the index.
+     * </p>
+     * @return index of unmasked cells
+     */
+    UnmaskedIndex<C> unmaskedIndex() {
+        UnmaskedIndex<C> index = unmaskedIndex;
+        if (null == index || index.modCount() != mask2D.modCount) {
+            index = buildUnmaskedIndex();
+            unmaskedIndex = index;
+        }
+        return index;
+    }
+
+    private UnmaskedIndex<C> buildUnmaskedIndex() {
+        int modCount = mask2D.modCount;
+        int size = getRows() * getColumns() - mask2D.getMaskedCells();
+        // no masked cells: the index of a cell is the location index
+        int[] cellIdx = 0 == mask2D.getMaskedCells() ? null : new int[size];
+        if (null != cellIdx) {
+            int pos = 0;
+            for (int loc = 0; loc < getCapacity(); loc++) {
+                if (!mask2D.isMasked(loc)) {
+                    cellIdx[pos++] = loc;
+                }
+            }
+        }
+        return new UnmaskedIndex<>(modCount, new UnmaskedCellList(cellIdx, size));
+    }
+
+    /**
+     * Index of all unmasked cells.
+     * @param modCount mask modification count
+     * @param cellL unmodifiable list of unmasked cells
+     * @param <C> cell type
+     */
+    record UnmaskedIndex<C>(int modCount, List<C> cellL) {
+    }
+
+    /**
+     * Unmodifiable list of unmasked cells.
+     * Each element is the location index {@code row * columns + column} of an unmasked cell.
+     */
+    private final class UnmaskedCellList extends AbstractList<C> implements RandomAccess {
+
+        private final int[] cellIdx;   // null if no cell is masked
+        private final int size;
+
+        UnmaskedCellList(final int[] cellIdx, final int size) {
+            this.cellIdx = cellIdx;
+            this.size = size;
+        }
+
+        @Override
+        public C get(int index) {
+            Objects.checkIndex(index, size);
+            int loc = null == cellIdx ? index : cellIdx[index];
+            return cell(loc / cols, loc % cols);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Mask of a 2D cartesian grid.
+     * <p>
+     *     The masked locations are stored in a bitmap.
+     *     Bit {@code row * columns + column} is set if [{@code row},{@code column}] is masked.
+     *     So the test whether a cell is masked is O(1) and creates no objects.
+     * </p>
+     */
     public static class Mask2DCartesian implements IGrid2D.IMask2D {
 
-        final Set<ILocation2D> maskS = new HashSet<>();
+        private static final int WORD_SHIFT = 6;
+
+        final long[] maskBits;
         final int rows;
         final int cols;
+        private int maskedCells;
+        // changed on each modification
+        volatile int modCount;
+
         protected Mask2DCartesian(final int r, final int c) {
-    this.rows = r;
-    this.cols = c;
+            this.rows = r;
+            this.cols = c;
+            this.maskBits = new long[(int) (((long) r * c + Long.SIZE - 1) >>> WORD_SHIFT)];
         }
 
         @Override
         public int getMaskedCells() {
-            return maskS.size();
+            return maskedCells;
         }
 
         @Override
         public boolean isUnmasked(int row, int column) {
             throwIfCellOutOfBounds2DCartesian(row, column, rows, cols);
-            return !maskS.contains(Location2D.of(row, column));
+            long bit = bit(row, column);
+            return 0L == (maskBits[(int) (bit >>> WORD_SHIFT)] & (1L << bit));
         }
 
         @Override
         public boolean mask(int row, int column) {
             throwIfCellOutOfBounds2DCartesian(row, column, rows, cols);
-            Location2D l2D = Location2D.of(row, column);
-            return maskS.add(l2D);
+            long bit = bit(row, column);
+            int word = (int) (bit >>> WORD_SHIFT);
+            long old = maskBits[word];
+            maskBits[word] = old | (1L << bit);
+            if (old == maskBits[word]) {
+                return false;
+            }
+            maskedCells++;
+            modCount++;
+            return true;
         }
 
         @Override
         public boolean unmask(int row, int column) {
-            throwIfCellOutOfBounds2DCartesian(row,column, rows, cols);
-            Location2D l2d = Location2D.of(row, column);
-            return maskS.remove(l2d);
+            throwIfCellOutOfBounds2DCartesian(row, column, rows, cols);
+            long bit = bit(row, column);
+            int word = (int) (bit >>> WORD_SHIFT);
+            long old = maskBits[word];
+            maskBits[word] = old & ~(1L << bit);
+            if (old == maskBits[word]) {
+                return false;
+            }
+            maskedCells--;
+            modCount++;
+            return true;
+        }
+
+        @Override
+        public int maskRectangle(int fromRow, int fromColumn, int toRow, int toColumn) {
+            return rectangle(fromRow, fromColumn, toRow, toColumn, true);
+        }
+
+        @Override
+        public int unmaskRectangle(int fromRow, int fromColumn, int toRow, int toColumn) {
+            return rectangle(fromRow, fromColumn, toRow, toColumn, false);
+        }
+
+        /**
+         * Mask all locations masked in {@code other} too.
+         * @param other other mask of same dimension
+         * @throws NullPointerException if {@code other}
+         * @throws IllegalArgumentException if {@code other} has different rows or columns
+         */
+        public void union(Mask2DCartesian other) {
+            throwIfOtherDimension(other);
+            for (int i = 0; i < maskBits.length; i++) {
+                maskBits[i] |= other.maskBits[i];
+            }
+            maskedCells = countMaskedCells();
+            modCount++;
+        }
+
+        /**
+         * Keep only those locations masked which are masked in {@code other} too.
+         * @param other other mask of same dimension
+         * @throws NullPointerException if {@code other}
+         * @throws IllegalArgumentException if {@code other} has different rows or columns
+         */
+        public void intersect(Mask2DCartesian other) {
+            throwIfOtherDimension(other);
+            for (int i = 0; i < maskBits.length; i++) {
+                maskBits[i] &= other.maskBits[i];
+            }
+            maskedCells = countMaskedCells();
+            modCount++;
+        }
+
+        /**
+         * Count all masked cells.
+         * @return masked cells
+         */
+        int countMaskedCells() {
+            long cnt = 0L;
+            for (long word : maskBits) {
+                cnt += Long.bitCount(word);
+            }
+            return (int) cnt;
+        }
+
+        private int rectangle(int fromRow, int fromColumn, int toRow, int toColumn, boolean mask) {
+            throwIfCellOutOfBounds2DCartesian(fromRow, fromColumn, rows, cols);
+            throwIfCellOutOfBounds2DCartesian(toRow, toColumn, rows, cols);
+            if (fromRow > toRow || fromColumn > toColumn) {
+                throw new IllegalArgumentException("[" + fromRow + "," + fromColumn + "] is not top left of [" + toRow + "," + toColumn + "]");
+            }
+            int changed = 0;
+            for (int ir = fromRow; ir <= toRow; ir++) {
+                changed += range(bit(ir, fromColumn), bit(ir, toColumn) + 1L, mask);
+            }
+            if (0 < changed) {
+                maskedCells += mask ? changed : -changed;
+                modCount++;
+            }
+            return changed;
+        }
+
+        /**
+         * Set or clear the bits [{@code from}, {@code to}).
+         * @return number of changed bits
+         */
+        private int range(long from, long to, boolean set) {
+            int changed = 0;
+            int fromWord = (int) (from >>> WORD_SHIFT);
+            int toWord = (int) ((to - 1L) >>> WORD_SHIFT);
+            for (int w = fromWord; w <= toWord; w++) {
+                long bits = -1L;
+                if (w == fromWord) {
+                    bits &= -1L << from;
+                }
+                if (w == toWord) {
+                    bits &= -1L >>> -to;
+                }
+                long old = maskBits[w];
+                maskBits[w] = set ? old | bits : old & ~bits;
+                changed += Long.bitCount(old ^ maskBits[w]);
+            }
+            return changed;
+        }
+
+        /**
+         * Is the location with bit index {@code row * columns + column} masked.
+         * @param bit bit index
+         * @return {@code true} if masked
+         */
+        boolean isMasked(long bit) {
+            return 0L != (maskBits[(int) (bit >>> WORD_SHIFT)] & (1L << bit));
+        }
+
+        private long bit(int row, int column) {
+            return (long) row * cols + column;
+        }
+
+        private void throwIfOtherDimension(Mask2DCartesian other) {
+            Objects.requireNonNull(other);
+            if (rows != other.rows || cols != other.cols) {
+                throw new IllegalArgumentException("Mask[=" + other.rows + "x" + other.cols + "] is not [" + rows + "x" + cols + "]");
+            }
         }
     }
-}
\ No newline at end of file
+}
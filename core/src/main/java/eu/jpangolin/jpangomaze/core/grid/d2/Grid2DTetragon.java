@@ -19,9 +19,20 @@ package eu.jpangolin.jpangomaze.core.grid.d2;
 import eu.jpangolin.jpangomaze.core.cell.d2.Cell2DTetragon;
 
 import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.jfr.GridPrepareEvent;
 import org.slf4j.LoggerFactory;
 
-public class Grid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> {
+import java.util.Objects;
+
+/**
+ * A grid of tetragonal cells.
+ * <p>
+ *     Each location of this grid holds its own {@link Cell2DTetragon} instance.
+ *     For very large grids use the {@link PackedGrid2DTetragon}.
+ * </p>
+ * @author jTzipi
+ */
+public class Grid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> implements IGrid2DTetragon {
 
     // LOG
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(Grid2DTetragon.class);
@@ -43,78 +54,35 @@ public class Grid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> {
     @Override
     protected void prepare() {
 
-
-
-
         for( int ir = 0; ir < getRows(); ir++ ) {
             for(int ic = 0; ic < getColumns(); ic++ ) {
 
-                boolean unmasked = isUnmasked(ir, ic);
                 // create new tetragonal cell
-                // if border/masked - a border cell
-                // or a normal cell
-                ICell2DTetragon tetraCell = Cell2DTetragon.of(getGUID(), ir, ic);
+                // masked cells are wired too
+                // so we can unmask them later
+                // traversal checks the masked state of each neighbour
+                // which is read from the grid mask
+                ICell2DTetragon tetraCell = Cell2DTetragon.of(getGUID(), ir, ic, getMask());
+
+                grid[ir][ic] = tetraCell;
+
+                // set neighbours
+                // since we start at left top we can populate
+                // the grid setting only top and left neighbours and vice versa
+                // the first row and column keep the border cells
+                // set in the init() step
+                if (0 < ir) {
 
-                if(!unmasked) {
-                    tetraCell.setMasked(true);
+                    ICell2DTetragon nbn = grid[ir - 1][ic];
+                    tetraCell.setNeighbourNorth(nbn);
+                    nbn.setNeighbourSouth(tetraCell);
                 }
 
-                grid[ir][ic] = tetraCell;
+                if (0 < ic) {
 
-                // Only if we have a normal cell we add neighbours
-                if(!unmasked) {
-                    // set neighbours
-                    // since we start at left top we can populate
-                    // the grid setting only top and left neighbours and vice versa
-                    // edge case are
-                    // row == 0, column == 0 and row == getRows() -1 getColumns() -1
-                    //
-                    // -- first row
-                    if (0 == ir) {
-                        // Nothing todo since
-                        // we already set each neighbour for each cell in the
-                        // init() step with a border cell
-
-                    } else {
-
-                        ICell2DTetragon nbn = grid[ir - 1][ic];
-                        tetraCell.setNeighbourNorth(nbn);
-                        // If north neighbour is not masked we can set the current cell
-                        // to the south neighbour
-                        if (isUnmasked(nbn)) {
-                            nbn.setNeighbourSouth(tetraCell);
-                        }
-                    }
-
-                    if (0 == ic) {
-
-// nothing here
-
-                    } else {
-
-                        // get the west neighbour, set this to this cell neighbour
-                        // and vice versa if the cell is not masked
-                        ICell2DTetragon nbw = grid[ir][ic - 1];
-                        tetraCell.setNeighbourWest(nbw);
-
-
-                        if (isUnmasked(nbw)) {
-                            nbw.setNeighbourEast(tetraCell);
-                        }
-
-                    }
-                    // corner case last row
-                    // set south neighbour
-                    if (getRows() - 1 == ir) {
-
-                        // nothing here
-                    }
-                    // corner case last col
-                    // set east neighbour
-                    if (getColumns() - 1 == ic) {
-
-// nothing here
-                    }
+                    ICell2DTetragon nbw = grid[ir][ic - 1];
+                    tetraCell.setNeighbourWest(nbw);
+                    nbw.setNeighbourEast(tetraCell);
                 }
             }
         }
@@ -128,14 +96,14 @@ public class Grid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> {
 
 
     @Override
-    ICell2DTetragon[][] grid() {
-        // lazy init
-        if(null == grid) {
-            prepare();
-            configure();
-        }
+    ICell2DTetragon cell(int row, int column) {
+        return grid[row][column];
+    }
 
-        return grid;
+    @Override
+    public ICell2DTetragon cellAt(int id) {
+        Objects.checkIndex(id, getCapacity());
+        return grid[id / getColumns()][id % getColumns()];
     }
 
     /**
@@ -149,17 +117,26 @@ public class Grid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> {
             LOG.warn("Rows[='{}'] < {} clamped!", rows, MIN_LEN);
         }
         if(MIN_LEN > columns) {
-            LOG.warn("Columns[='{}'] < {}", columns, MIN_LEN);
+            LOG.warn("Columns[='{}'] < {} clamped!", columns, MIN_LEN);
         }
 
         // TODO MAX!
         rows = Math.max(MIN_LEN, rows);
         columns = Math.max(MIN_LEN, columns);
 
+        GridPrepareEvent event = new GridPrepareEvent();
+        event.begin();
+
         Grid2DTetragon grid2DTetragon = new Grid2DTetragon(rows, columns);
         grid2DTetragon.prepare();
         grid2DTetragon.configure();
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.setGrid(grid2DTetragon);
+            event.commit();
+        }
+
         return grid2DTetragon;
     }
 }
\ No newline at end of file
@@ -135,6 +135,58 @@ public interface IGrid2D<C extends ICell2D> extends IGrid<C> {
             Objects.requireNonNull(cell);
             return unmask(cell.getRow(), cell.getColumn());
         }
+
+        /**
+         * Mask all locations of the rectangle [{@code fromRow},{@code fromColumn}] to [{@code toRow},{@code toColumn}].
+         * <p>Both corners are inclusive.</p>
+         * @param fromRow top row
+         * @param fromColumn left column
+         * @param toRow bottom row
+         * @param toColumn right column
+         * @return number of locations masked by this call
+         * @throws IndexOutOfBoundsException if a corner is out of bounds
+         * @throws IllegalArgumentException if [{@code fromRow},{@code fromColumn}] is not the top left corner
+         */
+        default int maskRectangle(int fromRow, int fromColumn, int toRow, int toColumn) {
+            if (fromRow > toRow || fromColumn > toColumn) {
+                throw new IllegalArgumentException("[" + fromRow + "," + fromColumn + "] is not top left of [" + toRow + "," + toColumn + "]");
+            }
+            int changed = 0;
+            for (int ir = fromRow; ir <= toRow; ir++) {
+                for (int ic = fromColumn; ic <= toColumn; ic++) {
+                    if (mask(ir, ic)) {
+                        changed++;
+                    }
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Unmask all locations of the rectangle [{@code fromRow},{@code fromColumn}] to [{@code toRow},{@code toColumn}].
+         * <p>Both corners are inclusive.</p>
+         * @param fromRow top row
+         * @param fromColumn left column
+         * @param toRow bottom row
+         * @param toColumn right column
+         * @return number of locations unmasked by this call
+         * @throws IndexOutOfBoundsException if a corner is out of bounds
+         * @throws IllegalArgumentException if [{@code fromRow},{@code fromColumn}] is not the top left corner
+         */
+        default int unmaskRectangle(int fromRow, int fromColumn, int toRow, int toColumn) {
+            if (fromRow > toRow || fromColumn > toColumn) {
+                throw new IllegalArgumentException("[" + fromRow + "," + fromColumn + "] is not top left of [" + toRow + "," + toColumn + "]");
+            }
+            int changed = 0;
+            for (int ir = fromRow; ir <= toRow; ir++) {
+                for (int ic = fromColumn; ic <= toColumn; ic++) {
+                    if (unmask(ir, ic)) {
+                        changed++;
+                    }
+                }
+            }
+            return changed;
+        }
     }
 
     }
\ No newline at end of file
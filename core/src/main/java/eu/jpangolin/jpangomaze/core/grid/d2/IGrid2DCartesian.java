@@ -108,4 +108,64 @@ public interface IGrid2DCartesian<C extends ICell2DCartesian> extends IGrid2D<C>
         return MazeUtils.isLocationInBound2DCartesian(row, column, getRows(), getColumns());
     }
 
-}
\ No newline at end of file
+    /**
+     * Return the cell id of [{@code row},{@code column}].
+     * @param row row [0 .. {@link #getRows() rows} -1]
+     * @param column column [0 .. {@link #getColumns() columns} -1]
+     * @return {@code row * columns + column}
+     * @throws IndexOutOfBoundsException if  [{@code row},{@code column}]  are not inbound
+     */
+    default int cellId(int row, int column) {
+        MazeUtils.throwIfCellOutOfBounds2DCartesian(row, column, getRows(), getColumns());
+        return row * getColumns() + column;
+    }
+
+    /**
+     * Return the row of a cell id.
+     * @param id cell id
+     * @return row
+     */
+    default int rowOf(int id) {
+        return id / getColumns();
+    }
+
+    /**
+     * Return the column of a cell id.
+     * @param id cell id
+     * @return column
+     */
+    default int columnOf(int id) {
+        return id % getColumns();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return {@code rows * columns}
+     * @throws ArithmeticException if the grid has more than {@link Integer#MAX_VALUE} locations
+     */
+    @Override
+    default int getCapacity() {
+        return Math.multiplyExact(getRows(), getColumns());
+    }
+
+    @Override
+    default int cellId(C cell) {
+        Objects.requireNonNull(cell);
+        if (cell.guid() != getGUID() || !isInbound(cell.getRow(), cell.getColumn())) {
+            throw new IllegalArgumentException("Cell '" + cell + "' is not part of this grid!");
+        }
+        return cell.getRow() * getColumns() + cell.getColumn();
+    }
+
+    @Override
+    default C cellAt(int id) {
+        Objects.checkIndex(id, getCapacity());
+        return getCell(rowOf(id), columnOf(id));
+    }
+
+    @Override
+    default boolean isUnmasked(int id) {
+        Objects.checkIndex(id, getCapacity());
+        return isUnmasked(rowOf(id), columnOf(id));
+    }
+}
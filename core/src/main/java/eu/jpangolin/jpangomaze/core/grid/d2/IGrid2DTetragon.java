@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.grid.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IDirection;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+
+import java.util.Objects;
+
+/**
+ * A 2D cartesian grid of tetragonal cells.
+ * <p>
+ *     This is the grid type all algorithms for tetragonal mazes work on.
+ *     There are two implementations
+ *     <ul>
+ *         <li>{@link Grid2DTetragon} storing one cell instance per location</li>
+ *         <li>{@link PackedGrid2DTetragon} storing the links of all cells in a primitive array</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     Besides the cell objects we can query and change links by {@linkplain #cellId(int, int) cell id}
+ *     and {@link Direction2DTetragon direction}.
+ * </p>
+ * @author jTzipi
+ */
+public interface IGrid2DTetragon extends IGrid2DCartesian<ICell2DTetragon> {
+
+    /**
+     * Return the id of the neighbour in a direction.
+     * @param id cell id
+     * @param direction direction
+     * @return neighbour id or {@link #NO_CELL} if the neighbour is outside the grid
+     * @throws NullPointerException if {@code direction}
+     */
+    default int neighbourId(int id, Direction2DTetragon direction) {
+        int row = rowOf(id) + direction.rowDelta();
+        int column = columnOf(id) + direction.columnDelta();
+        return isInbound(row, column) ? row * getColumns() + column : NO_CELL;
+    }
+
+    @Override
+    default int neighbourId(int id, IDirection direction) {
+        Objects.requireNonNull(direction);
+        if (!(direction instanceof Direction2DTetragon dir2D)) {
+            throw new IllegalArgumentException("Direction '" + direction + "' is not tetragonal!");
+        }
+        return neighbourId(id, dir2D);
+    }
+
+    /**
+     * Return the links of a cell as {@link Direction2DTetragon#bit() direction bits}.
+     * @param id cell id
+     * @return link bits [0 .. {@link Direction2DTetragon#ALL_BITS}]
+     * @throws IndexOutOfBoundsException if {@code id} is not in [0 .. {@link #getCapacity() capacity})
+     */
+    default int getLinkBits(int id) {
+        ICell2DTetragon cell = cellAt(id);
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            Direction2DTetragon dir = Direction2DTetragon.of(i);
+            if (cell.isLinked(dir)) {
+                bits |= dir.bit();
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Return whether a cell is linked to its neighbour in a direction.
+     * @param id cell id
+     * @param direction direction
+     * @return {@code true} if linked
+     * @throws NullPointerException if {@code direction}
+     */
+    default boolean isLinked(int id, Direction2DTetragon direction) {
+        return 0 != (getLinkBits(id) & direction.bit());
+    }
+
+    @Override
+    default boolean isLinked(int id, int otherId) {
+        Direction2DTetragon dir = Direction2DTetragon.between(rowOf(id), columnOf(id), rowOf(otherId), columnOf(otherId));
+        return null != dir && isLinked(id, dir);
+    }
+
+    /**
+     * Link a cell - bidirectional - to its neighbour in a direction.
+     * @param id cell id
+     * @param direction direction
+     * @throws NullPointerException if {@code direction}
+     * @throws IllegalArgumentException if there is no neighbour in {@code direction}
+     */
+    default void link(int id, Direction2DTetragon direction) {
+        if (NO_CELL == neighbourId(id, direction)) {
+            throw new IllegalArgumentException("No neighbour " + direction + " of cell '" + id + "'");
+        }
+        ICell2DTetragon cell = cellAt(id);
+        cell.link(cell.getNeighbour(direction));
+    }
+
+    /**
+     * Unlink a cell - bidirectional - from its neighbour in a direction.
+     * @param id cell id
+     * @param direction direction
+     * @throws NullPointerException if {@code direction}
+     */
+    default void unlink(int id, Direction2DTetragon direction) {
+        if (NO_CELL == neighbourId(id, direction)) {
+            return;
+        }
+        ICell2DTetragon cell = cellAt(id);
+        cell.unlink(cell.getNeighbour(direction), true);
+    }
+
+    /**
+     * Return the weight of a link.
+     * @param id cell id
+     * @param direction direction
+     * @return weight or {@link IWeightedEdge#INF} if not linked
+     * @throws NullPointerException if {@code direction}
+     */
+    default long getLinkWeight(int id, Direction2DTetragon direction) {
+        return cellAt(id).getLinkWeight(direction);
+    }
+
+    @Override
+    default void forEachLinkedNeighbourId(int id, ILinkConsumer action) {
+        Objects.requireNonNull(action);
+        int bits = getLinkBits(id);
+        for (int i = 0; i < 4; i++) {
+            Direction2DTetragon dir = Direction2DTetragon.of(i);
+            if (0 != (bits & dir.bit())) {
+                action.accept(neighbourId(id, dir), getLinkWeight(id, dir));
+            }
+        }
+    }
+}
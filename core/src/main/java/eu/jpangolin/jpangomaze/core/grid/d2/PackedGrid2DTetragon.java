@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.grid.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.cell.d2.Cell2DTetragon;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2D;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.jfr.GridPrepareEvent;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * A memory saving grid of tetragonal cells.
+ * <p>
+ *     Instead of one {@link Cell2DTetragon} per location with four neighbour references and a map of
+ *     linked cells we store the links of each cell as {@link Direction2DTetragon#bit() direction bits}
+ *     in one {@code byte}.
+ *     So a grid of 4000 x 4000 cells costs 16 MB and not some GB.
+ *     <br/>
+ *     Link weights are stored only if a weight other than {@link IWeightedEdge#SIMPLE} is set.
+ *     Then we allocate four {@code long} per cell.
+ * </p>
+ * <p>
+ *     The cells returned by this grid are lightweight <em>views</em> created on demand.
+ *     Two views of the same location are {@linkplain Object#equals(Object) equal}.
+ *     All changes made to a view are written through to this grid.
+ * </p>
+ * @implNote This grid is not thread safe.
+ * @author jTzipi
+ */
+public class PackedGrid2DTetragon extends AbstractGrid2DCartesian<ICell2DTetragon> implements IGrid2DTetragon {
+
+    private static final int DIRECTIONS = 4;
+
+    /**
+     * Maximal cells of a packed grid.
+     * <p>
+     *     The four link weights of each cell must fit into one array.
+     * </p>
+     */
+    public static final long MAX_CELLS = (Integer.MAX_VALUE - 8) / DIRECTIONS;
+
+    // LOG
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(PackedGrid2DTetragon.class);
+
+    /**
+     * Link bits of each cell.
+     */
+    private final byte[] links;
+    /**
+     * Border cell for all cells at the edge of this grid.
+     */
+    private final ICell2DTetragon borderCell;
+    /**
+     * Link weights, four per cell. Lazy created.
+     */
+    private long[] weights;
+
+    /**
+     * Packed Grid.
+     * @param rows rows
+     * @param columns columns
+     * @throws IllegalArgumentException if {@code rows} x {@code columns} &gt; {@link #MAX_CELLS}
+     */
+    PackedGrid2DTetragon(final int rows, final int columns) {
+        super(rows, columns);
+        long cells = (long) getRows() * getColumns();
+        if (MAX_CELLS < cells) {
+            throw new IllegalArgumentException("Grid[=" + getRows() + "x" + getColumns() + "] has more than " + MAX_CELLS + " cells!");
+        }
+        this.links = new byte[(int) cells];
+        this.borderCell = Cell2DTetragon.borderCell(getGUID());
+    }
+
+    @Override
+    protected void prepare() {
+        // nothing to do
+        // all cells are unlinked
+    }
+
+    @Override
+    protected void configure() {
+
+    }
+
+    @Override
+    ICell2DTetragon cell(int row, int column) {
+        return new PackedCell(row, column);
+    }
+
+    @Override
+    public ICell2DTetragon cellAt(int id) {
+        Objects.checkIndex(id, links.length);
+        return new PackedCell(rowOf(id), columnOf(id));
+    }
+
+    @Override
+    public int getCapacity() {
+        return links.length;
+    }
+
+    @Override
+    public int getLinkBits(int id) {
+        return links[id];
+    }
+
+    @Override
+    public boolean isLinked(int id, Direction2DTetragon direction) {
+        return 0 != (links[id] & direction.bit());
+    }
+
+    @Override
+    public void link(int id, Direction2DTetragon direction) {
+        int nbId = neighbourId(id, direction);
+        if (NO_CELL == nbId) {
+            throw new IllegalArgumentException("No neighbour " + direction + " of cell '" + id + "'");
+        }
+        if (isLinked(id, direction)) {
+            return;
+        }
+        setLink(id, direction, IWeightedEdge.SIMPLE);
+        setLink(nbId, direction.opposite(), IWeightedEdge.SIMPLE);
+    }
+
+    @Override
+    public void unlink(int id, Direction2DTetragon direction) {
+        int nbId = neighbourId(id, direction);
+        if (NO_CELL == nbId) {
+            return;
+        }
+        clearLink(id, direction);
+        clearLink(nbId, direction.opposite());
+    }
+
+    @Override
+    public long getLinkWeight(int id, Direction2DTetragon direction) {
+        return isLinked(id, direction) ? linkWeight(id, direction) : IWeightedEdge.INF;
+    }
+
+    @Override
+    public void forEachLinkedNeighbourId(int id, ILinkConsumer action) {
+        Objects.requireNonNull(action);
+        int bits = links[id];
+        for (int i = 0; i < DIRECTIONS; i++) {
+            Direction2DTetragon dir = Direction2DTetragon.of(i);
+            if (0 != (bits & dir.bit())) {
+                action.accept(neighbourId(id, dir), linkWeight(id, dir));
+            }
+        }
+    }
+
+    /**
+     * Return whether the cell [{@code row},{@code column}] has a link to {@code direction}.
+     * @param row row
+     * @param column column
+     * @param direction direction
+     * @return {@code true} if linked
+     */
+    boolean hasLink(int row, int column, Direction2DTetragon direction) {
+        return 0 != (links[index(row, column)] & direction.bit());
+    }
+
+    /**
+     * Return the link bits of cell [{@code row},{@code column}].
+     * @param row row
+     * @param column column
+     * @return link bits [0 .. {@link Direction2DTetragon#ALL_BITS}]
+     */
+    int linkBits(int row, int column) {
+        return links[index(row, column)];
+    }
+
+    void setLink(int idx, Direction2DTetragon direction, long weight) {
+        links[idx] |= (byte) direction.bit();
+        setWeight(idx, direction, weight);
+    }
+
+    void clearLink(int idx, Direction2DTetragon direction) {
+        links[idx] &= (byte) ~direction.bit();
+        setWeight(idx, direction, IWeightedEdge.SIMPLE);
+    }
+
+    long linkWeight(int idx, Direction2DTetragon direction) {
+        return null == weights
+                ? IWeightedEdge.SIMPLE
+                : weights[idx * DIRECTIONS + direction.ordinal()];
+    }
+
+    private void setWeight(int idx, Direction2DTetragon direction, long weight) {
+        if (null == weights) {
+            if (IWeightedEdge.SIMPLE == weight) {
+                return;
+            }
+            LOG.debug("Allocate link weights for grid '{}'", getGUID());
+            weights = new long[links.length * DIRECTIONS];
+            Arrays.fill(weights, IWeightedEdge.SIMPLE);
+        }
+        weights[idx * DIRECTIONS + direction.ordinal()] = weight;
+    }
+
+    private ICell2DTetragon neighbour(int row, int column, Direction2DTetragon direction) {
+        int nr = row + direction.rowDelta();
+        int nc = column + direction.columnDelta();
+        return isInbound(nr, nc) ? new PackedCell(nr, nc) : borderCell;
+    }
+
+    private int index(int row, int column) {
+        return row * getColumns() + column;
+    }
+
+    /**
+     * Create a new packed tetragonal grid.
+     * @param rows rows [{@linkplain #MIN_LEN} .. ]
+     * @param columns columns [{@linkplain #MIN_LEN} .. ]
+     * @return Packed tetragonal grid with [{@code rows} x {code columns}]
+     * @throws IllegalArgumentException if {@code rows} x {@code columns} &gt; {@link #MAX_CELLS}
+     */
+    public static PackedGrid2DTetragon of(int rows, int columns) {
+        if (MIN_LEN > rows) {
+            LOG.warn("Rows[='{}'] < {} clamped!", rows, MIN_LEN);
+        }
+        if (MIN_LEN > columns) {
+            LOG.warn("Columns[='{}'] < {} clamped!", columns, MIN_LEN);
+        }
+
+        GridPrepareEvent event = new GridPrepareEvent();
+        event.begin();
+
+        PackedGrid2DTetragon packedGrid = new PackedGrid2DTetragon(rows, columns);
+        packedGrid.prepare();
+        packedGrid.configure();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setGrid(packedGrid);
+            event.commit();
+        }
+
+        return packedGrid;
+    }
+
+    /**
+     * View of a location of the packed grid.
+     */
+    private final class PackedCell implements ICell2DTetragon {
+
+        private final int row;
+        private final int column;
+
+        PackedCell(final int row, final int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        /**
+         * Direction to an adjacent cell of this grid.
+         * @param other other cell
+         * @return direction or {@code null} if {@code other} is not a neighbour
+         */
+        private Direction2DTetragon directionTo(ICell other) {
+            if (!(other instanceof ICell2D other2D) || other2D.guid() != getGUID() || other2D.isBorder()) {
+                return null;
+            }
+            return Direction2DTetragon.between(row, column, other2D.getRow(), other2D.getColumn());
+        }
+
+        @Override
+        public void link(ICell other, boolean bidi, long weight) {
+            Objects.requireNonNull(other);
+            if (this.equals(other)) {
+                throw new IllegalArgumentException("Try to link to yourself!");
+            }
+            Direction2DTetragon dir = directionTo(other);
+            if (null == dir) {
+                LOG.warn("Cell link '{}' is not a neighbour of this '{}'!", other, this);
+                return;
+            }
+            if (hasLink(row, column, dir)) {
+                return;
+            }
+            setLink(index(row, column), dir, weight);
+            if (bidi) {
+                setLink(index(row + dir.rowDelta(), column + dir.columnDelta()), dir.opposite(), weight);
+            }
+        }
+
+        @Override
+        public void unlink(ICell other, boolean bidi) {
+            Objects.requireNonNull(other);
+            if (this.equals(other)) {
+                throw new IllegalArgumentException("Try to unlink from yourself!");
+            }
+            Direction2DTetragon dir = directionTo(other);
+            if (null == dir) {
+                LOG.warn("Cell unlink '{}' is not a neighbour of this '{}'!", other, this);
+                return;
+            }
+            if (!hasLink(row, column, dir)) {
+                return;
+            }
+            clearLink(index(row, column), dir);
+            if (bidi) {
+                clearLink(index(row + dir.rowDelta(), column + dir.columnDelta()), dir.opposite());
+            }
+        }
+
+        @Override
+        public void setLinkWeight(ICell neighbourCell, long weight) {
+            Objects.requireNonNull(neighbourCell);
+            Direction2DTetragon dir = directionTo(neighbourCell);
+            if (null == dir || !hasLink(row, column, dir)) {
+                throw new IllegalArgumentException("Cell '" + neighbourCell + "' is not linked to '" + this + "'!");
+            }
+            setLink(index(row, column), dir, weight);
+        }
+
+        @Override
+        public boolean isNeighbour(ICell cell) {
+            Objects.requireNonNull(cell);
+            return null != directionTo(cell);
+        }
+
+        @Override
+        public boolean isLinked(ICell cell) {
+            Objects.requireNonNull(cell, "Cell is null!");
+            Direction2DTetragon dir = directionTo(cell);
+            return null != dir && hasLink(row, column, dir);
+        }
+
+        @Override
+        public Set<ICell> getLinkedNeighbours() {
+            return Collections.unmodifiableSet(getLinkedNeighbourWeightMap().keySet());
+        }
+
+        /**
+         * {@inheritDoc}
+         * @implNote This is an unmodifiable snapshot created on each call.
+         */
+        @Override
+        public Map<ICell, Long> getLinkedNeighbourWeightMap() {
+            Map<ICell, Long> linkMap = new HashMap<>();
+            int bits = linkBits(row, column);
+            for (Direction2DTetragon dir : Direction2DTetragon.values()) {
+                if (0 != (bits & dir.bit())) {
+                    linkMap.put(neighbour(row, column, dir), linkWeight(index(row, column), dir));
+                }
+            }
+            return Collections.unmodifiableMap(linkMap);
+        }
+
+        @Override
+        public Set<ICell> getNeighbours() {
+            // border cells are the same instance
+            // so we can not use Set.of(...)
+            Set<ICell> nbS = new HashSet<>();
+            forEachNeighbour(nbS::add);
+            return Collections.unmodifiableSet(nbS);
+        }
+
+        @Override
+        public boolean isUnmasked() {
+            return getMask().isUnmasked(row, column);
+        }
+
+        @Override
+        public void setMasked(boolean masked) {
+            if (masked) {
+                getMask().mask(row, column);
+            } else {
+                getMask().unmask(row, column);
+            }
+        }
+
+        @Override
+        public long guid() {
+            return getGUID();
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public int getColumn() {
+            return column;
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbour(Direction2DTetragon direction) {
+            return neighbour(row, column, direction);
+        }
+
+        @Override
+        public boolean isLinked(Direction2DTetragon direction) {
+            return hasLink(row, column, direction);
+        }
+
+        @Override
+        public long getLinkWeight(Direction2DTetragon direction) {
+            return hasLink(row, column, direction) ? linkWeight(index(row, column), direction) : IWeightedEdge.INF;
+        }
+
+        @Override
+        public boolean isTraversable(Direction2DTetragon direction) {
+            int nr = row + direction.rowDelta();
+            int nc = column + direction.columnDelta();
+            return isInbound(nr, nc) && getMask().isUnmasked(nr, nc);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourNorth() {
+            return neighbour(row, column, Direction2DTetragon.NORTH);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourEast() {
+            return neighbour(row, column, Direction2DTetragon.EAST);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourWest() {
+            return neighbour(row, column, Direction2DTetragon.WEST);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourSouth() {
+            return neighbour(row, column, Direction2DTetragon.SOUTH);
+        }
+
+        @Override
+        public void setNeighbourNorth(ICell2DTetragon neighbourNorth) {
+            throw new UnsupportedOperationException("Neighbours of a packed cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourEast(ICell2DTetragon neighbourEast) {
+            throw new UnsupportedOperationException("Neighbours of a packed cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourWest(ICell2DTetragon neighbourWest) {
+            throw new UnsupportedOperationException("Neighbours of a packed cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourSouth(ICell2DTetragon neighbourSouth) {
+            throw new UnsupportedOperationException("Neighbours of a packed cell are fixed!");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ICell2D that)) return false;
+            return row == that.getRow() && column == that.getColumn() && getGUID() == that.guid();
+        }
+
+        @Override
+        public int hashCode() {
+            // same as AbstractCell2D
+            return 31 * (31 * (31 + row) + column) + Long.hashCode(getGUID());
+        }
+
+        @Override
+        public String toString() {
+            return "PackedCell{"
+                    + "row='" + row
+                    + "', column='" + column
+                    + "', links='" + Integer.toBinaryString(linkBits(row, column))
+                    + "', guid='" + getGUID()
+                    + "'}";
+        }
+    }
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.grid.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.MazeUtils;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.cell.d2.Cell2DTetragon;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2D;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A rectangle of a tetragon grid seen as a grid of its own.
+ * <p>
+ *     Cell ids, rows and columns are relative to the rectangle and all links are written through to the parent grid.
+ *     Neighbours outside the rectangle are not neighbours of this grid,
+ *     so an algorithm working with cell ids stays inside.
+ * </p>
+ * <p>
+ *     The cells returned are views bounded to the rectangle. Their row and column are relative to the rectangle
+ *     and each neighbour outside the rectangle is a border cell. Links are written to the cells of the parent grid.
+ *     So algorithms walking from cell to cell stay inside as well.
+ *     The view has a {@link #getGUID() grid id} of its own and its cells are not equal to the cells of the parent grid.
+ * </p>
+ * <p>
+ *     The mask is read only.
+ *     Views of disjoint rectangles can be planted in parallel if the parent grid stores the links
+ *     of each cell apart, like {@link Grid2DTetragon} and {@link PackedGrid2DTetragon}.
+ * </p>
+ * @implNote A view is not thread safe.
+ * @author jTzipi
+ */
+public final class SubGrid2DTetragon implements IGrid2DTetragon {
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(SubGrid2DTetragon.class);
+    private final IGrid2DTetragon parent;
+    private final long guid = MazeUtils.generateGUID();
+    private final ICell2DTetragon borderCell = Cell2DTetragon.borderCell(guid);
+    private final int row;
+    private final int column;
+    private final int rows;
+    private final int columns;
+    private final IMask2D mask;
+    private final int maskedCells;
+    // ids of unmasked cells, lazy created for random cells if cells are masked
+    private int[] unmaskedIdA;
+
+    private SubGrid2DTetragon(final IGrid2DTetragon parent, final int row, final int column, final int rows, final int columns) {
+        this.parent = parent;
+        this.row = row;
+        this.column = column;
+        this.rows = rows;
+        this.columns = columns;
+        this.mask = new SubMask();
+
+        int masked = 0;
+        for (int ir = 0; ir < rows; ir++) {
+            for (int ic = 0; ic < columns; ic++) {
+                if (!parent.isUnmasked(row + ir, column + ic)) {
+                    masked++;
+                }
+            }
+        }
+        this.maskedCells = masked;
+    }
+
+    /**
+     * Create a view of a rectangle.
+     * @param parent parent grid
+     * @param row first row in {@code parent}
+     * @param column first column in {@code parent}
+     * @param rows rows [1 .. ]
+     * @param columns columns [1 .. ]
+     * @return view
+     * @throws NullPointerException if {@code parent}
+     * @throws IndexOutOfBoundsException if the rectangle is not inside {@code parent}
+     * @throws IllegalArgumentException if {@code rows} or {@code columns} &lt; 1
+     */
+    public static SubGrid2DTetragon of(IGrid2DTetragon parent, int row, int column, int rows, int columns) {
+        Objects.requireNonNull(parent);
+        if (1 > rows || 1 > columns) {
+            throw new IllegalArgumentException("Rows[=" + rows + "] or columns[=" + columns + "] < 1");
+        }
+        MazeUtils.throwIfCellOutOfBounds2DCartesian(row, column, parent.getRows(), parent.getColumns());
+        MazeUtils.throwIfCellOutOfBounds2DCartesian(row + rows - 1, column + columns - 1, parent.getRows(), parent.getColumns());
+        return new SubGrid2DTetragon(parent, row, column, rows, columns);
+    }
+
+    /**
+     * Return the parent grid.
+     * @return parent
+     */
+    public IGrid2DTetragon getParent() {
+        return parent;
+    }
+
+    /**
+     * Return the id of a cell in the parent grid.
+     * @param id cell id of this grid
+     * @return cell id of the parent grid
+     */
+    public int parentId(int id) {
+        Objects.checkIndex(id, getCapacity());
+        int ir = id / columns;
+        return (row + ir) * parent.getColumns() + column + id - ir * columns;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public ICell2DTetragon getCell(int row, int column) {
+        MazeUtils.throwIfCellOutOfBounds2DCartesian(row, column, rows, columns);
+        return new SubCell(row, column);
+    }
+
+    @Override
+    public List<ICell2DTetragon> getCellsForRow(int row) {
+        MazeUtils.throwIfRowOutOfBounds2DCartesian(row, rows);
+        List<ICell2DTetragon> cellL = new ArrayList<>(columns);
+        for (int ic = 0; ic < columns; ic++) {
+            if (isUnmasked(row, ic)) {
+                cellL.add(getCell(row, ic));
+            }
+        }
+        return cellL;
+    }
+
+    @Override
+    public List<ICell2DTetragon> getCells() {
+        List<ICell2DTetragon> cellL = new ArrayList<>(getSize());
+        for (int ir = 0; ir < rows; ir++) {
+            cellL.addAll(getCellsForRow(ir));
+        }
+        return cellL;
+    }
+
+    @Override
+    public ICell2DTetragon getRandomCell() {
+        return getRandomCell(ThreadLocalRandom.current());
+    }
+
+    @Override
+    public ICell2DTetragon getRandomCell(RandomGenerator random) {
+        Objects.requireNonNull(random);
+        if (0 == getSize()) {
+            throw new IllegalArgumentException("The cell list is empty!");
+        }
+        int id;
+        if (0 == maskedCells) {
+            id = random.nextInt(getCapacity());
+        } else {
+            if (null == unmaskedIdA) {
+                unmaskedIdA = new int[getSize()];
+                int cnt = 0;
+                for (int i = 0; i < getCapacity(); i++) {
+                    if (isUnmasked(i)) {
+                        unmaskedIdA[cnt++] = i;
+                    }
+                }
+            }
+            id = unmaskedIdA[random.nextInt(unmaskedIdA.length)];
+        }
+        return cellAt(id);
+    }
+
+    @Override
+    public boolean isUnmasked(ICell2DTetragon cell) {
+        return isUnmasked(cellId(cell));
+    }
+
+    @Override
+    public int getSize() {
+        return getCapacity() - maskedCells;
+    }
+
+    @Override
+    public long getGUID() {
+        return guid;
+    }
+
+    @Override
+    public IMask2D getMask() {
+        return mask;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Besides the cells of this view the cells of the parent grid inside the rectangle are accepted.
+     * </p>
+     * @throws IllegalArgumentException if {@code cell} is not inside the rectangle
+     */
+    @Override
+    public int cellId(ICell2DTetragon cell) {
+        Objects.requireNonNull(cell);
+        int ir = cell.getRow();
+        int ic = cell.getColumn();
+        if (cell.guid() == parent.getGUID()) {
+            ir -= row;
+            ic -= column;
+        } else if (cell.guid() != guid) {
+            ir = -1;
+        }
+        if (!isInbound(ir, ic)) {
+            throw new IllegalArgumentException("Cell '" + cell + "' is not part of this grid!");
+        }
+        return ir * columns + ic;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Links of the parent grid leaving the rectangle are not returned.
+     * </p>
+     */
+    @Override
+    public int getLinkBits(int id) {
+        return parent.getLinkBits(parentId(id)) & innerBits(id);
+    }
+
+    @Override
+    public boolean isLinked(int id, Direction2DTetragon direction) {
+        return 0 != (getLinkBits(id) & direction.bit());
+    }
+
+    @Override
+    public void link(int id, Direction2DTetragon direction) {
+        if (NO_CELL == neighbourId(id, direction)) {
+            throw new IllegalArgumentException("No neighbour " + direction + " of cell '" + id + "'");
+        }
+        parent.link(parentId(id), direction);
+    }
+
+    @Override
+    public void unlink(int id, Direction2DTetragon direction) {
+        if (NO_CELL == neighbourId(id, direction)) {
+            return;
+        }
+        parent.unlink(parentId(id), direction);
+    }
+
+    @Override
+    public long getLinkWeight(int id, Direction2DTetragon direction) {
+        return isLinked(id, direction) ? parent.getLinkWeight(parentId(id), direction) : IWeightedEdge.INF;
+    }
+
+    @Override
+    public String toString() {
+        return "SubGrid2DTetragon{" +
+                "row=" + row +
+                ", column=" + column +
+                ", rows=" + rows +
+                ", columns=" + columns +
+                '}';
+    }
+
+    /**
+     * Direction bits of the neighbours of a cell inside the rectangle.
+     * @param id cell id
+     * @return direction bits
+     */
+    private int innerBits(int id) {
+        int ir = id / columns;
+        int ic = id - ir * columns;
+        int bits = Direction2DTetragon.ALL_BITS;
+        if (0 == ir) {
+            bits &= ~Direction2DTetragon.NORTH.bit();
+        }
+        if (ic + 1 == columns) {
+            bits &= ~Direction2DTetragon.EAST.bit();
+        }
+        if (0 == ic) {
+            bits &= ~Direction2DTetragon.WEST.bit();
+        }
+        if (ir + 1 == rows) {
+            bits &= ~Direction2DTetragon.SOUTH.bit();
+        }
+        return bits;
+    }
+
+    private ICell2DTetragon neighbour(int row, int column, Direction2DTetragon direction) {
+        int nr = row + direction.rowDelta();
+        int nc = column + direction.columnDelta();
+        return isInbound(nr, nc) ? new SubCell(nr, nc) : borderCell;
+    }
+
+    /**
+     * View of a location of the rectangle.
+     * <p>
+     *     Links are delegated to the parent cell if the other cell is a neighbour inside the rectangle.
+     * </p>
+     */
+    private final class SubCell implements ICell2DTetragon {
+
+        private final int row;
+        private final int column;
+
+        SubCell(final int row, final int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        private ICell2DTetragon parentCell() {
+            return parent.getCell(SubGrid2DTetragon.this.row + row, SubGrid2DTetragon.this.column + column);
+        }
+
+        private ICell2DTetragon parentCell(Direction2DTetragon direction) {
+            return parent.getCell(SubGrid2DTetragon.this.row + row + direction.rowDelta(),
+                    SubGrid2DTetragon.this.column + column + direction.columnDelta());
+        }
+
+        /**
+         * Direction to an adjacent cell of this view.
+         * @param other other cell
+         * @return direction or {@code null} if {@code other} is not a neighbour inside the rectangle
+         */
+        private Direction2DTetragon directionTo(ICell other) {
+            if (!(other instanceof ICell2D other2D) || other2D.guid() != guid || other2D.isBorder()) {
+                return null;
+            }
+            return Direction2DTetragon.between(row, column, other2D.getRow(), other2D.getColumn());
+        }
+
+        @Override
+        public void link(ICell other, boolean bidi, long weight) {
+            Objects.requireNonNull(other);
+            if (this.equals(other)) {
+                throw new IllegalArgumentException("Try to link to yourself!");
+            }
+            Direction2DTetragon dir = directionTo(other);
+            if (null == dir) {
+                LOG.warn("Cell link '{}' is not a neighbour of this '{}'!", other, this);
+                return;
+            }
+            parentCell().link(parentCell(dir), bidi, weight);
+        }
+
+        @Override
+        public void unlink(ICell other, boolean bidi) {
+            Objects.requireNonNull(other);
+            if (this.equals(other)) {
+                throw new IllegalArgumentException("Try to unlink from yourself!");
+            }
+            Direction2DTetragon dir = directionTo(other);
+            if (null == dir) {
+                LOG.warn("Cell unlink '{}' is not a neighbour of this '{}'!", other, this);
+                return;
+            }
+            parentCell().unlink(parentCell(dir), bidi);
+        }
+
+        @Override
+        public void setLinkWeight(ICell neighbourCell, long weight) {
+            Objects.requireNonNull(neighbourCell);
+            Direction2DTetragon dir = directionTo(neighbourCell);
+            if (null == dir) {
+                throw new IllegalArgumentException("Cell '" + neighbourCell + "' is not linked to '" + this + "'!");
+            }
+            parentCell().setLinkWeight(parentCell(dir), weight);
+        }
+
+        @Override
+        public boolean isNeighbour(ICell cell) {
+            Objects.requireNonNull(cell);
+            return null != directionTo(cell);
+        }
+
+        @Override
+        public boolean isLinked(ICell cell) {
+            Objects.requireNonNull(cell, "Cell is null!");
+            Direction2DTetragon dir = directionTo(cell);
+            return null != dir && isLinked(dir);
+        }
+
+        @Override
+        public Set<ICell> getLinkedNeighbours() {
+            return Collections.unmodifiableSet(getLinkedNeighbourWeightMap().keySet());
+        }
+
+        /**
+         * {@inheritDoc}
+         * @implNote This is an unmodifiable snapshot created on each call without links leaving the rectangle.
+         */
+        @Override
+        public Map<ICell, Long> getLinkedNeighbourWeightMap() {
+            Map<ICell, Long> linkMap = new HashMap<>();
+            for (Direction2DTetragon dir : Direction2DTetragon.values()) {
+                if (isLinked(dir)) {
+                    linkMap.put(neighbour(row, column, dir), getLinkWeight(dir));
+                }
+            }
+            return Collections.unmodifiableMap(linkMap);
+        }
+
+        @Override
+        public Set<ICell> getNeighbours() {
+            // border cells are the same instance
+            // so we can not use Set.of(...)
+            Set<ICell> nbS = new HashSet<>();
+            forEachNeighbour(nbS::add);
+            return Collections.unmodifiableSet(nbS);
+        }
+
+        @Override
+        public boolean isUnmasked() {
+            return mask.isUnmasked(row, column);
+        }
+
+        @Override
+        public void setMasked(boolean masked) {
+            if (masked) {
+                mask.mask(row, column);
+            } else {
+                mask.unmask(row, column);
+            }
+        }
+
+        @Override
+        public long guid() {
+            return guid;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public int getColumn() {
+            return column;
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbour(Direction2DTetragon direction) {
+            return neighbour(row, column, direction);
+        }
+
+        @Override
+        public boolean isLinked(Direction2DTetragon direction) {
+            return isInbound(row + direction.rowDelta(), column + direction.columnDelta())
+                    && parentCell().isLinked(direction);
+        }
+
+        @Override
+        public long getLinkWeight(Direction2DTetragon direction) {
+            return isLinked(direction) ? parentCell().getLinkWeight(direction) : IWeightedEdge.INF;
+        }
+
+        @Override
+        public boolean isTraversable(Direction2DTetragon direction) {
+            int nr = row + direction.rowDelta();
+            int nc = column + direction.columnDelta();
+            return isInbound(nr, nc) && mask.isUnmasked(nr, nc);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourNorth() {
+            return neighbour(row, column, Direction2DTetragon.NORTH);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourEast() {
+            return neighbour(row, column, Direction2DTetragon.EAST);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourWest() {
+            return neighbour(row, column, Direction2DTetragon.WEST);
+        }
+
+        @Override
+        public ICell2DTetragon getNeighbourSouth() {
+            return neighbour(row, column, Direction2DTetragon.SOUTH);
+        }
+
+        @Override
+        public void setNeighbourNorth(ICell2DTetragon neighbourNorth) {
+            throw new UnsupportedOperationException("Neighbours of a sub grid cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourEast(ICell2DTetragon neighbourEast) {
+            throw new UnsupportedOperationException("Neighbours of a sub grid cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourWest(ICell2DTetragon neighbourWest) {
+            throw new UnsupportedOperationException("Neighbours of a sub grid cell are fixed!");
+        }
+
+        @Override
+        public void setNeighbourSouth(ICell2DTetragon neighbourSouth) {
+            throw new UnsupportedOperationException("Neighbours of a sub grid cell are fixed!");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ICell2D that)) return false;
+            return row == that.getRow() && column == that.getColumn() && guid == that.guid();
+        }
+
+        @Override
+        public int hashCode() {
+            // same as AbstractCell2D
+            return 31 * (31 * (31 + row) + column) + Long.hashCode(guid);
+        }
+
+        @Override
+        public String toString() {
+            return "SubCell{"
+                    + "row='" + row
+                    + "', column='" + column
+                    + "', links='" + Integer.toBinaryString(getLinkBits(cellId(row, column)))
+                    + "', guid='" + guid
+                    + "'}";
+        }
+    }
+
+    /**
+     * Read only mask of the rectangle.
+     */
+    private final class SubMask implements IMask2D {
+
+        @Override
+        public int getMaskedCells() {
+            return maskedCells;
+        }
+
+        @Override
+        public boolean isUnmasked(int row, int column) {
+            MazeUtils.throwIfCellOutOfBounds2DCartesian(row, column, rows, columns);
+            return parent.isUnmasked(SubGrid2DTetragon.this.row + row, SubGrid2DTetragon.this.column + column);
+        }
+
+        @Override
+        public boolean mask(int row, int column) {
+            throw new UnsupportedOperationException("The mask of a sub grid is read only!");
+        }
+
+        @Override
+        public boolean unmask(int row, int column) {
+            throw new UnsupportedOperationException("The mask of a sub grid is read only!");
+        }
+    }
+}
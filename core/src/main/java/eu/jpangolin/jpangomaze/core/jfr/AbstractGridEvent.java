@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.jfr;
+
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DCartesian;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Event on a grid.
+ * <p>
+ *     Records the grid type and dimension.
+ *     Rows and columns are only set for {@link IGrid2DCartesian} grids.
+ * </p>
+ * @author jTzipi
+ */
+@Category(AbstractGridEvent.CATEGORY)
+public abstract class AbstractGridEvent extends Event {
+
+    /**
+     * Category of all events.
+     */
+    public static final String CATEGORY = "JPangoMaze";
+
+    @Label("Grid Class")
+    Class<?> gridClass;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Cells")
+    @Description("Cells of the grid including masked cells")
+    int cells;
+
+    @Label("Masked Cells")
+    int maskedCells;
+
+    /**
+     * Set the grid fields.
+     * @param grid grid or {@code null} if unknown
+     */
+    public void setGrid(IGrid<?> grid) {
+        if (null == grid) {
+            return;
+        }
+        gridClass = grid.getClass();
+        cells = grid.getCapacity();
+        maskedCells = cells - grid.getSize();
+        if (grid instanceof IGrid2DCartesian<?> grid2D) {
+            rows = grid2D.getRows();
+            columns = grid2D.getColumns();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Event of a distance analysis.
+ * <p>
+ *     The grid fields are only set if the analysis was started with a grid.
+ * </p>
+ * @author jTzipi
+ */
+@Name("eu.jpangolin.jpangomaze.Distance")
+@Label("Distance Analysis")
+@Description("Distance analysis from a root cell")
+public final class DistanceEvent extends AbstractGridEvent {
+
+    @Label("Measurer")
+    Class<?> measurer;
+
+    @Label("Reached Cells")
+    int reachedCells;
+
+    @Label("Queue Pops")
+    @Description("Cells taken from the queue or frontier including outdated entries")
+    long queuePops;
+
+    /**
+     * Set the distance measurer.
+     * @param measurer measurer class
+     */
+    public void setMeasurer(Class<?> measurer) {
+        this.measurer = measurer;
+    }
+
+    /**
+     * Set the counters.
+     * @param reachedCells cells reached from the root
+     * @param queuePops cells taken from the queue
+     */
+    public void setCounters(int reachedCells, long queuePops) {
+        this.reachedCells = reachedCells;
+        this.queuePops = queuePops;
+    }
+}
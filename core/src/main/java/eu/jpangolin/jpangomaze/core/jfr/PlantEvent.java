@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.jfr;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.algo.PlantStatus;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Event of planting a maze on a grid.
+ * <p>
+ *     The counters are the difference of the {@link GenerationMetrics} before and after planting.
+ * </p>
+ * @author jTzipi
+ */
+@Name("eu.jpangolin.jpangomaze.Plant")
+@Label("Plant Maze")
+@Description("Maze generation by an algorithm")
+public final class PlantEvent extends AbstractGridEvent {
+
+    @Label("Algorithm")
+    Class<?> algorithm;
+
+    @Label("Links")
+    long links;
+
+    @Label("Walk Steps")
+    long walkSteps;
+
+    @Label("Loop Erasures")
+    long loopErasures;
+
+    @Label("Queue Pushes")
+    long queuePushes;
+
+    @Label("Queue Pops")
+    long queuePops;
+
+    @Label("Status")
+    String status;
+
+    /**
+     * Set the algorithm.
+     * @param algorithm algorithm class
+     */
+    public void setAlgorithm(Class<?> algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Set the status.
+     * @param status status
+     */
+    public void setStatus(PlantStatus status) {
+        this.status = status.name();
+    }
+
+    /**
+     * Set the counters.
+     * @param before metrics before planting
+     * @param after metrics after planting
+     */
+    public void setCounters(GenerationMetrics before, GenerationMetrics after) {
+        links = delta(before, after, GenerationMetrics.Counter.LINKS);
+        walkSteps = delta(before, after, GenerationMetrics.Counter.WALK_STEPS);
+        loopErasures = delta(before, after, GenerationMetrics.Counter.LOOP_ERASURES);
+        queuePushes = delta(before, after, GenerationMetrics.Counter.QUEUE_PUSHES);
+        queuePops = delta(before, after, GenerationMetrics.Counter.QUEUE_POPS);
+    }
+
+    private static long delta(GenerationMetrics before, GenerationMetrics after, GenerationMetrics.Counter counter) {
+        return after.get(counter) - before.get(counter);
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Java Flight Recorder events of maze generation, distance analysis and grid creation.
+ * <p>
+ *     All events are in the category {@value eu.jpangolin.jpangomaze.core.jfr.AbstractGridEvent#CATEGORY}.
+ *     When JFR is off or an event is disabled we only pay for an {@code isEnabled()} check.
+ * </p>
+ */
+package eu.jpangolin.jpangomaze.core.jfr;
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min heap of {@code int} ids with {@code long} keys.
+ * <p>
+ *     Each id [0 .. capacity) can be contained at most once.
+ *     Since we know the position of each id in the heap we can
+ *     decrease the key of an id in O(log n).
+ * </p>
+ * @author jTzipi
+ */
+public final class IndexedMinHeap {
+
+    private static final int NOT_CONTAINED = -1;
+
+    private final int[] heap;   // heap position -> id
+    private final int[] pos;    // id -> heap position
+    private final long[] keys;  // id -> key
+    private int size;
+
+    /**
+     * Create a heap.
+     * @param capacity maximal id + 1
+     * @throws IllegalArgumentException if {@code capacity} &lt; 0
+     */
+    public IndexedMinHeap(final int capacity) {
+        if (0 > capacity) {
+            throw new IllegalArgumentException("Capacity[=" + capacity + "] < 0");
+        }
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(pos, NOT_CONTAINED);
+    }
+
+    /**
+     * Return whether the heap is empty.
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Return the number of ids in the heap.
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return whether an id is in the heap.
+     * @param id id
+     * @return {@code true} if contained
+     */
+    public boolean contains(int id) {
+        return NOT_CONTAINED != pos[id];
+    }
+
+    /**
+     * Return the key of a contained id.
+     * @param id id
+     * @return key
+     * @throws NoSuchElementException if {@code id} is not contained
+     */
+    public long key(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Id '" + id + "' not contained!");
+        }
+        return keys[id];
+    }
+
+    /**
+     * Insert an id or decrease its key.
+     * <p>
+     *     If the id is contained with a key &le; {@code key} nothing happens.
+     * </p>
+     * @param id id
+     * @param key key
+     * @return {@code true} if inserted or decreased
+     */
+    public boolean offer(int id, long key) {
+        int p = pos[id];
+        if (NOT_CONTAINED == p) {
+            keys[id] = key;
+            heap[size] = id;
+            pos[id] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (keys[id] <= key) {
+            return false;
+        }
+        keys[id] = key;
+        siftUp(p);
+        return true;
+    }
+
+    /**
+     * Return the id with the least key without removing it.
+     * @return id
+     * @throws NoSuchElementException if empty
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty!");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Remove and return the id with the least key.
+     * @return id
+     * @throws NoSuchElementException if empty
+     */
+    public int poll() {
+        int top = peek();
+        int last = heap[--size];
+        pos[top] = NOT_CONTAINED;
+        if (0 < size) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Remove all ids.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = NOT_CONTAINED;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int p) {
+        int id = heap[p];
+        long key = keys[id];
+        while (0 < p) {
+            int parent = (p - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[p] = parentId;
+            pos[parentId] = p;
+            p = parent;
+        }
+        heap[p] = id;
+        pos[id] = p;
+    }
+
+    private void siftDown(int p) {
+        int id = heap[p];
+        long key = keys[id];
+        int half = size >>> 1;
+        while (p < half) {
+            int child = 2 * p + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (key <= keys[childId]) {
+                break;
+            }
+            heap[p] = childId;
+            pos[childId] = p;
+            p = child;
+        }
+        heap[p] = id;
+        pos[id] = p;
+    }
+}
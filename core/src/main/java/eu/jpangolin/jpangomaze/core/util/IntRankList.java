@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * List of {@code int} values with a fixed capacity where values are added at the end only.
+ * <p>
+ *     Each value gets the next slot. A removed value leaves its slot empty,
+ *     so the remaining values keep their order.
+ *     The used slots are bits in blocks of 64 and the used slots of each block are counted in a Fenwick tree.
+ *     So the value at an index is found and removed in O(log capacity) and adding is O(log capacity) too,
+ *     while the tree is 64 times smaller than the values and stays in the cache.
+ * </p>
+ * @author jTzipi
+ */
+public final class IntRankList {
+
+    private static final int BLOCK_SHIFT = 6;
+    private final int[] valueA;
+    // used slots, one bit each
+    private final long[] usedA;
+    // Fenwick tree of used slots per block, 1-based
+    private final int[] tree;
+    // highest power of two <= blocks
+    private final int topStep;
+    private int slots;
+    private int size;
+    // index and slot of the last get, since a value is often read before it is removed
+    private int cachedIndex = -1;
+    private int cachedSlot;
+
+    /**
+     * Create a list.
+     * @param capacity maximal number of values added over the lifetime of the list
+     * @throws IllegalArgumentException if {@code capacity} &lt; 0
+     */
+    public IntRankList(final int capacity) {
+        if (0 > capacity) {
+            throw new IllegalArgumentException("Capacity[=" + capacity + "] < 0");
+        }
+        final int blocks = (capacity + Long.SIZE - 1) >>> BLOCK_SHIFT;
+        this.valueA = new int[capacity];
+        this.usedA = new long[blocks];
+        this.tree = new int[blocks + 1];
+        this.topStep = Integer.highestOneBit(blocks);
+    }
+
+    /**
+     * Return whether the list is empty.
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Return the number of values.
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a value after the last value.
+     * @param value value
+     * @throws IllegalStateException if all slots were used
+     */
+    public void add(int value) {
+        if (slots == valueA.length) {
+            throw new IllegalStateException("List is full!");
+        }
+        valueA[slots] = value;
+        usedA[slots >>> BLOCK_SHIFT] |= 1L << slots;
+        count(slots++ >>> BLOCK_SHIFT, 1);
+        size++;
+        // the new value is after all others, so the cache is still right
+    }
+
+    /**
+     * Return a value.
+     * @param index index [0 .. size) where 0 is the first value
+     * @return value
+     * @throws IndexOutOfBoundsException if {@code index} is not in [0 .. size)
+     */
+    public int get(int index) {
+        checkIndex(index);
+        if (index != cachedIndex) {
+            cachedSlot = slot(index);
+            cachedIndex = index;
+        }
+        return valueA[cachedSlot];
+    }
+
+    /**
+     * Remove and return a value keeping the order of the others.
+     * @param index index [0 .. size)
+     * @return value
+     * @throws IndexOutOfBoundsException if {@code index} is not in [0 .. size)
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int slot = index == cachedIndex ? cachedSlot : slot(index);
+        usedA[slot >>> BLOCK_SHIFT] &= ~(1L << slot);
+        count(slot >>> BLOCK_SHIFT, -1);
+        size--;
+        cachedIndex = -1;
+        return valueA[slot];
+    }
+
+    /**
+     * Remove and return the last value.
+     * @return value
+     * @throws NoSuchElementException if empty
+     */
+    public int removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty!");
+        }
+        return removeAt(size - 1);
+    }
+
+    private void count(int block, int delta) {
+        for (int i = block + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Find the slot of the value at an index by descending the Fenwick tree to its block.
+     */
+    private int slot(int index) {
+        int block = 0;
+        int rest = index;
+        for (int step = topStep; 0 < step; step >>>= 1) {
+            int next = block + step;
+            if (next < tree.length && tree[next] <= rest) {
+                block = next;
+                rest -= tree[next];
+            }
+        }
+        // the value is the used slot number rest of the block
+        // clear the used slots before it, or after it if these are fewer
+        long used = usedA[block];
+        int after = Long.bitCount(used) - 1 - rest;
+        if (rest <= after) {
+            for (; 0 < rest; rest--) {
+                used &= used - 1L;
+            }
+            return block << BLOCK_SHIFT | Long.numberOfTrailingZeros(used);
+        }
+        for (; 0 < after; after--) {
+            used ^= Long.highestOneBit(used);
+        }
+        return block << BLOCK_SHIFT | (Long.SIZE - 1 - Long.numberOfLeadingZeros(used));
+    }
+
+    private int checkIndex(int index) {
+        if (0 > index || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " not in [0 .. " + size + ")");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Union find of {@code int} elements [0 .. size).
+ * <p>
+ *     Union by rank and path halving, so each operation is nearly O(1).
+ *     The sets are stored in a single array: the parent of an element or
+ *     {@code -1 - rank} for a representative. So a find touches one array only.
+ * </p>
+ * <p>
+ *     Not thread safe. Only {@link #root(int)} does not write and may be called
+ *     by many threads while no thread calls {@link #find(int)} or {@link #union(int, int)}.
+ * </p>
+ * @author jTzipi
+ */
+public final class IntUnionFind {
+
+    private final int[] parent;
+    private int sets;
+
+    /**
+     * Create a union find where each element is its own set.
+     * @param size number of elements
+     * @throws IllegalArgumentException if {@code size} &lt; 0
+     */
+    public IntUnionFind(final int size) {
+        if (0 > size) {
+            throw new IllegalArgumentException("Size[=" + size + "] < 0");
+        }
+        this.parent = new int[size];
+        Arrays.fill(parent, -1);
+        this.sets = size;
+    }
+
+    /**
+     * Return the representative of the set of an element compressing the path.
+     * @param element element
+     * @return representative
+     */
+    public int find(int element) {
+        int up = parent[element];
+        while (0 <= up) {
+            int upUp = parent[up];
+            if (0 > upUp) {
+                return up;
+            }
+            // path halving
+            parent[element] = upUp;
+            element = upUp;
+            up = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Return the representative of the set of an element without changing the union find.
+     * @param element element
+     * @return representative
+     */
+    public int root(int element) {
+        while (0 <= parent[element]) {
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Join the sets of two elements.
+     * @param a element
+     * @param b element
+     * @return {@code true} if the sets were different
+     */
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        // representatives hold -1 - rank, so the higher rank is the smaller value
+        if (parent[ra] > parent[rb]) {
+            parent[ra] = rb;
+        } else if (parent[ra] < parent[rb]) {
+            parent[rb] = ra;
+        } else {
+            parent[rb] = ra;
+            parent[ra]--;
+        }
+        sets--;
+        return true;
+    }
+
+    /**
+     * Return whether two elements are in the same set.
+     * @param a element
+     * @param b element
+     * @return {@code true} if same set
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Return the number of sets.
+     * @return sets
+     */
+    public int sets() {
+        return sets;
+    }
+
+    /**
+     * Return the number of elements.
+     * @return size
+     */
+    public int size() {
+        return parent.length;
+    }
+}
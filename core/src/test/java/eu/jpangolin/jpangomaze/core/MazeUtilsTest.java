@@ -16,6 +16,10 @@
 
 package eu.jpangolin.jpangomaze.core;
 
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.distance.Dijkstras;
+import eu.jpangolin.jpangomaze.core.distance.IDistanceResult;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,4 +43,19 @@ class MazeUtilsTest {
     @Test
     void clamp() {
     }
+
+    @Test
+    void shortestPathFor() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(2, 2);
+        grid.link(0, Direction2DTetragon.EAST);
+        ICell2DTetragon root = grid.getCell(0, 0);
+        ICell2DTetragon east = grid.getCell(0, 1);
+        IDistanceResult result = Dijkstras.of().analyse(root);
+
+        // the root cell is reached with an empty path
+        assertTrue(MazeUtils.shortestPathFor(root, result).isEmpty());
+        assertEquals(1, MazeUtils.shortestPathFor(east, result).size());
+        // not reached
+        assertTrue(MazeUtils.shortestPathFor(grid.getCell(1, 1), result).isEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo;
+
+import eu.jpangolin.jpangomaze.core.algo.d2.AldousBroder2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.ParallelBinaryTree2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Tiled2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.d2.Wilson2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationContextTest {
+
+    @Test
+    void completed() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(50, 50);
+        GenerationContext ctx = GenerationContext.ofSeed(1L)
+                .withTimeout(Duration.ofMinutes(5L))
+                .withStepBudget(Long.MAX_VALUE);
+
+        assertEquals(PlantStatus.COMPLETED, new Wilson2DTetragon().plant(grid, ctx));
+    }
+
+    @Test
+    void budget() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(300, 300);
+        GenerationContext ctx = GenerationContext.ofSeed(1L).withStepBudget(50_000L);
+
+        assertEquals(PlantStatus.BUDGET_EXHAUSTED, new AldousBroder2DTetragon().plant(grid, ctx));
+    }
+
+    @Test
+    void cancelled() {
+        GenerationContext ctx = GenerationContext.of();
+        ctx.cancel();
+
+        assertEquals(PlantStatus.CANCELLED, new Wilson2DTetragon().plant(PackedGrid2DTetragon.of(10, 10), ctx));
+    }
+
+    @Test
+    void cancelledByOtherThread() throws Exception {
+        // the random walk would take very long on a huge grid
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(5000, 5000);
+        GenerationContext ctx = GenerationContext.ofSeed(2L);
+        CompletableFuture<PlantStatus> status = CompletableFuture.supplyAsync(() -> new AldousBroder2DTetragon().plant(grid, ctx));
+
+        Thread.sleep(50L);
+        ctx.cancel();
+        assertEquals(PlantStatus.CANCELLED, status.get(10L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deadline() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(5000, 5000);
+        GenerationContext ctx = GenerationContext.ofSeed(3L).withTimeout(Duration.ofMillis(20L));
+
+        assertEquals(PlantStatus.DEADLINE_EXCEEDED, new AldousBroder2DTetragon().plant(grid, ctx));
+    }
+
+    @Test
+    void parallel() {
+        // aborted in a worker thread
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(1000, 1000);
+        GenerationContext ctx = GenerationContext.ofSeed(4L).withStepBudget(100_000L);
+        assertEquals(PlantStatus.BUDGET_EXHAUSTED, new ParallelBinaryTree2DTetragon().plant(grid, ctx));
+
+        // aborted in a tile
+        PackedGrid2DTetragon tiled = PackedGrid2DTetragon.of(600, 600);
+        GenerationContext tiledCtx = GenerationContext.ofSeed(4L).withStepBudget(100_000L);
+        assertEquals(PlantStatus.BUDGET_EXHAUSTED, new Tiled2DTetragon(new Wilson2DTetragon(), 100, 100).plant(tiled, tiledCtx));
+    }
+
+    @Test
+    void invalid() {
+        GenerationContext ctx = GenerationContext.of();
+        assertThrows(IllegalArgumentException.class, () -> ctx.withStepBudget(-1L));
+        assertThrows(IllegalArgumentException.class, () -> ctx.withTimeout(Duration.ofSeconds(-1L)));
+    }
+}
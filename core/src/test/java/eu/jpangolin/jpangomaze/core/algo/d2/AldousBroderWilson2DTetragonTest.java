@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AldousBroderWilson2DTetragonTest {
+
+    @Test
+    void perfect() {
+        for (double ratio : new double[]{0D, AldousBroderWilson2DTetragon.DEFAULT_SWITCH_RATIO, 1D}) {
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(120, 90);
+            new AldousBroderWilson2DTetragon(ratio).plant(grid);
+            Mazes.assertPerfect(grid);
+        }
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new AldousBroderWilson2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+    }
+
+    @Test
+    void aldousBroder() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 50);
+        new AldousBroder2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        PackedGrid2DTetragon masked = PackedGrid2DTetragon.of(60, 50);
+        masked.getMask().maskRectangle(5, 5, 20, 30);
+        new AldousBroder2DTetragon().plant(masked);
+        Mazes.assertPerfect(masked);
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 60);
+        grid.getMask().maskRectangle(10, 10, 30, 20);
+        new AldousBroderWilson2DTetragon().plant(grid);
+
+        Mazes.assertPerfect(grid);
+    }
+
+    @Test
+    void uniform() {
+        // a 2 x 2 grid has 4 spanning trees
+        GenerationContext ctx = GenerationContext.ofSeed(23L);
+        Map<Integer, Integer> treeCnt = new HashMap<>();
+        int runs = 4000;
+        for (int i = 0; i < runs; i++) {
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(2, 2);
+            new AldousBroderWilson2DTetragon(0.5D).plant(grid, ctx);
+            int key = grid.getLinkBits(0) << 4 | grid.getLinkBits(3);
+            treeCnt.merge(key, 1, Integer::sum);
+        }
+
+        assertEquals(4, treeCnt.size());
+        for (int cnt : treeCnt.values()) {
+            assertTrue(Math.abs(cnt - runs / 4) < 150, "Tree count " + cnt);
+        }
+    }
+
+    @Test
+    void illegalRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new AldousBroderWilson2DTetragon(-0.1D));
+        assertThrows(IllegalArgumentException.class, () -> new AldousBroderWilson2DTetragon(1.1D));
+        assertThrows(IllegalArgumentException.class, () -> new AldousBroderWilson2DTetragon(Double.NaN));
+    }
+}
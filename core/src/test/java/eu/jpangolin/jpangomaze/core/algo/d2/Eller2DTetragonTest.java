@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Eller2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(200, 150);
+        new Eller2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new Eller2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+
+        PackedGrid2DTetragon single = PackedGrid2DTetragon.of(1, 50);
+        new Eller2DTetragon().plant(single);
+        Mazes.assertPerfect(single);
+    }
+
+    @Test
+    void streamedRowsEqualPlantedGrid() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(40, 25);
+        new Eller2DTetragon().plant(grid, GenerationContext.ofSeed(5L));
+
+        Eller2DTetragon.generate(25, 40, GenerationContext.ofSeed(5L), (row, linkBits) -> {
+            for (int ic = 0; ic < 25; ic++) {
+                assertEquals(grid.getLinkBits(grid.cellId((int) row, ic)), linkBits[ic]);
+            }
+        });
+    }
+
+    @Test
+    void tallStream() {
+        // every row but the last links south at least once, and a row has (columns - 1) - (sets - 1) east links
+        EllerRows rows = new EllerRows(64, new SplittableRandom(3L));
+        for (int ir = 0; ir < 200_000; ir++) {
+            byte[] linkBits = rows.next();
+            int south = 0;
+            for (byte bits : linkBits) {
+                south |= bits & Direction2DTetragon.SOUTH.bit();
+            }
+            assertEquals(Direction2DTetragon.SOUTH.bit(), south);
+        }
+        rows.last();
+        assertEquals(200_001L, rows.getRows());
+        // a perfect maze has cells - 1 links
+        assertEquals(200_001L * 64 - 1, rows.getLinks());
+        assertThrows(IllegalStateException.class, rows::next);
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(20, 20);
+        grid.getMask().maskRectangle(5, 5, 8, 8);
+        assertThrows(IllegalArgumentException.class, () -> new Eller2DTetragon().plant(grid));
+    }
+}
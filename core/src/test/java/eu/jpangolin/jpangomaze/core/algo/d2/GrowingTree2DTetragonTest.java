@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GrowingTree2DTetragonTest {
+
+    private static final GrowingTree2DTetragon.ISelector[] SELECTORS = {
+            GrowingTree2DTetragon.ISelector.NEWEST,
+            GrowingTree2DTetragon.ISelector.OLDEST,
+            GrowingTree2DTetragon.ISelector.RANDOM,
+            GrowingTree2DTetragon.ISelector.mix(GrowingTree2DTetragon.ISelector.OLDEST, 0.25D, GrowingTree2DTetragon.ISelector.NEWEST)
+    };
+
+    @Test
+    void perfect() {
+        for (GrowingTree2DTetragon.ISelector selector : SELECTORS) {
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(120, 100);
+            new GrowingTree2DTetragon(selector).plant(grid);
+            Mazes.assertPerfect(grid);
+        }
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new GrowingTree2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+    }
+
+    @Test
+    void masked() {
+        for (GrowingTree2DTetragon.ISelector selector : SELECTORS) {
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 60);
+            grid.getMask().maskRectangle(10, 10, 30, 20);
+            new GrowingTree2DTetragon(selector).plant(grid);
+            Mazes.assertPerfect(grid);
+        }
+    }
+
+    @Test
+    void newestIsBacktracker() {
+        // both take the same random numbers
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(50, 70);
+        PackedGrid2DTetragon backtracker = PackedGrid2DTetragon.of(50, 70);
+
+        new GrowingTree2DTetragon(GrowingTree2DTetragon.ISelector.NEWEST).plant(grid, GenerationContext.ofSeed(8L));
+        new RecursiveBacktracker2DTetragon().plant(backtracker, GenerationContext.ofSeed(8L));
+
+        Mazes.assertSameLinks(backtracker, grid);
+    }
+
+    @Test
+    void invalidMix() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GrowingTree2DTetragon.ISelector.mix(GrowingTree2DTetragon.ISelector.NEWEST, 1.5D, GrowingTree2DTetragon.ISelector.RANDOM));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class HuntAndKill2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(200, 150);
+        new HuntAndKill2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new HuntAndKill2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 60);
+        // the first row is masked partly so we hunt cells without a visited north neighbour
+        grid.getMask().maskRectangle(0, 5, 0, 40);
+        grid.getMask().maskRectangle(10, 10, 30, 20);
+        new HuntAndKill2DTetragon().plant(grid);
+
+        Mazes.assertPerfect(grid);
+    }
+
+    @Test
+    void unreachable() {
+        // unreachable cells in each row must not make each hunt scan the grid again
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(600, 600);
+        grid.getMask().maskRectangle(0, 597, 599, 597);
+        assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> new HuntAndKill2DTetragon().plant(grid));
+
+        long bits = 0L;
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            bits += Integer.bitCount(grid.getLinkBits(id));
+        }
+        // either the columns left or the two columns right of the masked column form a tree
+        boolean right = 0 != grid.getLinkBits(grid.cellId(0, 599));
+        assertEquals(2L * ((right ? 2 * 600 : grid.getSize() - 2 * 600) - 1), bits);
+        assertEquals(right, 0 == grid.getLinkBits(grid.cellId(0, 0)));
+    }
+
+    @Test
+    void seeded() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(80, 80);
+        PackedGrid2DTetragon same = PackedGrid2DTetragon.of(80, 80);
+
+        new HuntAndKill2DTetragon().plant(grid, GenerationContext.ofSeed(9L));
+        new HuntAndKill2DTetragon().plant(same, GenerationContext.ofSeed(9L));
+
+        Mazes.assertSameLinks(grid, same);
+    }
+}
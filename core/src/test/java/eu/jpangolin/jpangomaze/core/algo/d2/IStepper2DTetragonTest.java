@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.AbstractPlantable;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IStepper2DTetragonTest {
+
+    private static final List<AbstractPlantable<IGrid2DTetragon, ICell2DTetragon>> STEPPABLES = List.of(
+            new BinaryTree2DTetragon(),
+            new Sidewinder2DTetragon(),
+            new RecursiveBacktracker2DTetragon());
+
+    @Test
+    void event() {
+        int event = IStepper2DTetragon.event(12345, Direction2DTetragon.WEST);
+        assertEquals(12345, IStepper2DTetragon.idOf(event));
+        assertEquals(Direction2DTetragon.WEST, IStepper2DTetragon.directionOf(event));
+    }
+
+    @Test
+    void stepsEqualPlant() {
+        for (AbstractPlantable<IGrid2DTetragon, ICell2DTetragon> plantable : STEPPABLES) {
+            PackedGrid2DTetragon planted = PackedGrid2DTetragon.of(40, 30);
+            plantable.plant(planted, GenerationContext.ofSeed(21L));
+
+            PackedGrid2DTetragon stepped = PackedGrid2DTetragon.of(40, 30);
+            GenerationContext ctx = GenerationContext.ofSeed(21L);
+            IStepper2DTetragon stepper = ((ISteppable2DTetragon) plantable).stepper(stepped, ctx);
+            int[] eventA = new int[7];
+            int cnt;
+            while (0 < (cnt = stepper.step(eventA))) {
+                IStepper2DTetragon.apply(stepped, eventA, cnt);
+            }
+
+            assertTrue(stepper.isDone());
+            Mazes.assertPerfect(stepped);
+            Mazes.assertSameLinks(planted, stepped);
+            assertEquals(40 * 30 - 1, ctx.metrics().get(GenerationMetrics.Counter.LINKS));
+        }
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon planted = PackedGrid2DTetragon.of(50, 50);
+        planted.getMask().maskRectangle(10, 10, 30, 20);
+        new RecursiveBacktracker2DTetragon().plant(planted, GenerationContext.ofSeed(3L));
+
+        PackedGrid2DTetragon stepped = PackedGrid2DTetragon.of(50, 50);
+        stepped.getMask().maskRectangle(10, 10, 30, 20);
+        IStepper2DTetragon stepper = new RecursiveBacktracker2DTetragon().stepper(stepped, GenerationContext.ofSeed(3L));
+        int[] eventA = new int[64];
+        int cnt;
+        while (0 < (cnt = stepper.step(eventA))) {
+            IStepper2DTetragon.apply(stepped, eventA, cnt);
+        }
+
+        Mazes.assertPerfect(stepped);
+        Mazes.assertSameLinks(planted, stepped);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Kruskal2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(200, 150);
+        new Kruskal2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new Kruskal2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+
+        PackedGrid2DTetragon parallel = PackedGrid2DTetragon.of(300, 300);
+        new ParallelKruskal2DTetragon().plant(parallel);
+        Mazes.assertPerfect(parallel);
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 60);
+        grid.getMask().maskRectangle(10, 10, 30, 20);
+        new Kruskal2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        PackedGrid2DTetragon parallel = PackedGrid2DTetragon.of(60, 60);
+        parallel.getMask().maskRectangle(10, 10, 30, 20);
+        new ParallelKruskal2DTetragon().plant(parallel);
+        Mazes.assertPerfect(parallel);
+    }
+
+    @Test
+    void prelinked() {
+        // a corridor along the first row is kept
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(40, 40);
+        for (int ic = 0; ic < 39; ic++) {
+            grid.link(grid.cellId(0, ic), Direction2DTetragon.EAST);
+        }
+        new Kruskal2DTetragon().plant(grid);
+
+        Mazes.assertPerfect(grid);
+        for (int ic = 0; ic < 39; ic++) {
+            assertTrue(grid.isLinked(grid.cellId(0, ic), Direction2DTetragon.EAST));
+        }
+    }
+
+    @Test
+    void parallelEqualsSequential() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(500, 400);
+        PackedGrid2DTetragon parallel = PackedGrid2DTetragon.of(500, 400);
+
+        new Kruskal2DTetragon().plant(grid, GenerationContext.ofSeed(17L));
+        new ParallelKruskal2DTetragon().plant(parallel, GenerationContext.ofSeed(17L));
+
+        Mazes.assertSameLinks(grid, parallel);
+    }
+
+    @Test
+    void maxEdges() {
+        assertEquals(2 * 4 * 3 - 4 - 3, Kruskal2DTetragon.maxEdges(4, 3));
+        // 2^30 cells are fine, a few more columns are not
+        assertEquals((1L << 31) - (1L << 16), Kruskal2DTetragon.maxEdges(1 << 15, 1 << 15));
+        assertThrows(IllegalArgumentException.class, () -> Kruskal2DTetragon.maxEdges(1 << 15, (1 << 15) + 2));
+    }
+}
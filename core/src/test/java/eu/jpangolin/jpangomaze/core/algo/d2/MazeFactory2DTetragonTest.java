@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.IPlantable;
+import eu.jpangolin.jpangomaze.core.algo.PlantStatus;
+import eu.jpangolin.jpangomaze.core.algo.d2.MazeFactory2DTetragon.GridType;
+import eu.jpangolin.jpangomaze.core.algo.d2.MazeFactory2DTetragon.Result;
+import eu.jpangolin.jpangomaze.core.algo.d2.MazeFactory2DTetragon.Spec;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeFactory2DTetragonTest {
+
+    @Test
+    void generate() {
+        List<Spec> specL = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            GridType type = 0 == i % 2 ? GridType.PACKED : GridType.OBJECT;
+            specL.add(Spec.of(type, 20 + i, 30, Wilson2DTetragon::new, i));
+        }
+
+        List<Result> resultL;
+        try (Stream<Result> results = MazeFactory2DTetragon.of(4).generate(specL)) {
+            resultL = results.toList();
+        }
+
+        assertEquals(specL.size(), resultL.size());
+        for (Result result : resultL) {
+            assertTrue(result.isCompleted());
+            Mazes.assertPerfect(result.grid());
+
+            Spec spec = result.spec();
+            PackedGrid2DTetragon same = PackedGrid2DTetragon.of(spec.rows(), spec.columns());
+            new Wilson2DTetragon().plant(same, GenerationContext.ofSeed(spec.seed()));
+            Mazes.assertSameLinks(same, result.grid());
+        }
+        // each grid has its own id
+        Set<Long> guidS = resultL.stream().map(result -> result.grid().getGUID()).collect(Collectors.toSet());
+        assertEquals(resultL.size(), guidS.size());
+    }
+
+    @Test
+    void masked() {
+        Spec spec = new Spec(GridType.PACKED, 40, 40, mask -> mask.maskRectangle(10, 10, 20, 20), HuntAndKill2DTetragon::new, 5L);
+        Result result = MazeFactory2DTetragon.of().generate(List.of(spec)).findFirst().orElseThrow();
+
+        assertTrue(result.isCompleted());
+        assertFalse(result.grid().isUnmasked(15, 15));
+        Mazes.assertPerfect(result.grid());
+    }
+
+    @Test
+    void failure() {
+        // Eller refuses masked grids
+        Spec bad = new Spec(GridType.PACKED, 20, 20, mask -> mask.mask(0, 0), Eller2DTetragon::new, 1L);
+        Spec good = Spec.of(GridType.PACKED, 20, 20, Eller2DTetragon::new, 1L);
+
+        List<Result> resultL = MazeFactory2DTetragon.of(2).generate(List.of(bad, good)).toList();
+
+        assertEquals(1L, resultL.stream().filter(Result::isCompleted).count());
+        Result failed = resultL.stream().filter(result -> !result.isCompleted()).findFirst().orElseThrow();
+        assertSame(bad, failed.spec());
+        assertInstanceOf(IllegalArgumentException.class, failed.failure());
+        assertNull(failed.grid());
+    }
+
+    @Test
+    void error() {
+        IPlantable<IGrid2DTetragon, ICell2DTetragon> overflow = (grid, ctx) -> {
+            throw new StackOverflowError();
+        };
+        Spec spec = Spec.of(GridType.PACKED, 20, 20, () -> overflow, 1L);
+
+        Result result = assertTimeoutPreemptively(java.time.Duration.ofSeconds(10L),
+                () -> MazeFactory2DTetragon.of(1).generate(List.of(spec)).findFirst().orElseThrow());
+
+        assertFalse(result.isCompleted());
+        assertInstanceOf(StackOverflowError.class, result.failure());
+    }
+
+    @Test
+    void concurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        IPlantable<IGrid2DTetragon, ICell2DTetragon> tracking = (grid, ctx) -> {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            PlantStatus status = new Wilson2DTetragon().plant(grid, ctx);
+            running.decrementAndGet();
+            return status;
+        };
+        List<Spec> specL = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            specL.add(Spec.of(GridType.PACKED, 30, 30, () -> tracking, i));
+        }
+
+        long completed = MazeFactory2DTetragon.of(3).generate(specL).filter(Result::isCompleted).count();
+
+        assertEquals(specL.size(), completed);
+        assertTrue(max.get() <= 3, "max in flight " + max.get());
+    }
+
+    @Test
+    void closeEarly() {
+        List<Spec> specL = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            specL.add(Spec.of(GridType.PACKED, 50, 50, Wilson2DTetragon::new, i));
+        }
+        try (Stream<Result> results = MazeFactory2DTetragon.of(2).generate(specL)) {
+            assertEquals(3L, results.limit(3L).count());
+        }
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> MazeFactory2DTetragon.of(0));
+        assertThrows(NullPointerException.class, () -> Spec.of(GridType.PACKED, 5, 5, null, 1L));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.distance.SimpleDistance;
+import eu.jpangolin.jpangomaze.core.grid.d2.IGrid2DTetragon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks of planted mazes.
+ */
+final class Mazes {
+
+    private Mazes() {
+        throw new AssertionError("\n???");
+    }
+
+    /**
+     * Assert that each unmasked cell is reachable on exactly one path.
+     * @param grid grid
+     */
+    static void assertPerfect(IGrid2DTetragon grid) {
+        long links = 0;
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            links += Integer.bitCount(grid.getLinkBits(id));
+        }
+        // n - 1 links, each stored twice
+        assertEquals(2L * (grid.getSize() - 1), links);
+        // and all cells are reachable
+        assertConnected(grid);
+    }
+
+    /**
+     * Assert that each unmasked cell is reachable.
+     * @param grid grid
+     */
+    static void assertConnected(IGrid2DTetragon grid) {
+        assertEquals(grid.getSize(), SimpleDistance.create().analyse(grid, grid.getRandomCell()).reachedCount());
+    }
+
+    /**
+     * Assert that two grids have the same links.
+     * @param expected grid
+     * @param actual other grid
+     */
+    static void assertSameLinks(IGrid2DTetragon expected, IGrid2DTetragon actual) {
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        for (int id = 0; id < expected.getCapacity(); id++) {
+            assertEquals(expected.getLinkBits(id), actual.getLinkBits(id), "Links of cell " + id);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSidewinder2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(301, 200);
+        GenerationContext ctx = GenerationContext.of();
+        new ParallelSidewinder2DTetragon().plant(grid, ctx);
+
+        Mazes.assertPerfect(grid);
+        assertEquals(grid.getSize() - 1, ctx.metrics().get(GenerationMetrics.Counter.LINKS));
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(40, 30);
+        new ParallelSidewinder2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+    }
+
+    @Test
+    void seeded() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(301, 200);
+        new ParallelSidewinder2DTetragon().plant(grid, GenerationContext.ofSeed(5L));
+
+        PackedGrid2DTetragon same = PackedGrid2DTetragon.of(301, 200);
+        new ParallelSidewinder2DTetragon().plant(same, GenerationContext.ofSeed(5L));
+
+        Mazes.assertSameLinks(same, grid);
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(50, 50);
+        grid.getMask().maskRectangle(10, 10, 20, 20);
+        new ParallelSidewinder2DTetragon().plant(grid);
+
+        Mazes.assertPerfect(grid);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecursiveDivision2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(200, 150);
+        new RecursiveDivision2DTetragon().plant(grid);
+        Mazes.assertPerfect(grid);
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new RecursiveDivision2DTetragon().plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+    }
+
+    @Test
+    void parallel() {
+        // large enough to be divided in many tasks
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(700, 600);
+        PackedGrid2DTetragon same = PackedGrid2DTetragon.of(700, 600);
+
+        new RecursiveDivision2DTetragon().plant(grid, GenerationContext.ofSeed(6L));
+        new RecursiveDivision2DTetragon().plant(same, GenerationContext.ofSeed(6L));
+
+        Mazes.assertPerfect(grid);
+        Mazes.assertSameLinks(grid, same);
+    }
+
+    @Test
+    void rooms() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(100, 100);
+        GenerationContext ctx = GenerationContext.ofSeed(2L);
+        new RecursiveDivision2DTetragon(5, 1D).plant(grid, ctx);
+
+        Mazes.assertConnected(grid);
+        long links = ctx.metrics().get(GenerationMetrics.Counter.LINKS);
+        assertTrue(links > 100 * 100 - 1);
+
+        long bits = 0;
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            bits += Integer.bitCount(grid.getLinkBits(id));
+        }
+        assertEquals(2L * links, bits);
+    }
+
+    @Test
+    void roomProbability() {
+        // a chamber large enough for a task is a room with the room probability, not its square
+        int open = 0;
+        for (long seed = 0L; seed < 100L; seed++) {
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(150, 150);
+            GenerationContext ctx = GenerationContext.ofSeed(seed);
+            new RecursiveDivision2DTetragon(150, 0.5D).plant(grid, ctx);
+            if (2L * 150 * 149 == ctx.metrics().get(GenerationMetrics.Counter.LINKS)) {
+                open++;
+            }
+        }
+        assertTrue(35 <= open && open <= 65, "open " + open);
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new RecursiveDivision2DTetragon(-1, 0.5D));
+        assertThrows(IllegalArgumentException.class, () -> new RecursiveDivision2DTetragon(4, 2D));
+
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(20, 20);
+        grid.getMask().maskRectangle(5, 5, 8, 8);
+        assertThrows(IllegalArgumentException.class, () -> new RecursiveDivision2DTetragon().plant(grid));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.algo.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.distance.Dijkstras;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import eu.jpangolin.jpangomaze.core.grid.d2.SubGrid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Tiled2DTetragonTest {
+
+    @Test
+    void perfect() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(200, 150);
+        new Tiled2DTetragon(new Wilson2DTetragon(), 32, 40).plant(grid);
+        Mazes.assertPerfect(grid);
+
+        PackedGrid2DTetragon aldousBroder = PackedGrid2DTetragon.of(100, 100);
+        new Tiled2DTetragon(new AldousBroder2DTetragon(), 16, 16).plant(aldousBroder);
+        Mazes.assertPerfect(aldousBroder);
+
+        Grid2DTetragon cellGrid = Grid2DTetragon.of(30, 40);
+        new Tiled2DTetragon(new RecursiveBacktracker2DTetragon(), 7, 9).plant(cellGrid);
+        Mazes.assertPerfect(cellGrid);
+
+        // one tile
+        PackedGrid2DTetragon small = PackedGrid2DTetragon.of(10, 10);
+        new Tiled2DTetragon(new Kruskal2DTetragon()).plant(small);
+        Mazes.assertPerfect(small);
+    }
+
+    @Test
+    void cellWalking() {
+        // these walk from cell to cell and must not link into the neighbour tile
+        PackedGrid2DTetragon binaryTree = PackedGrid2DTetragon.of(40, 40);
+        new Tiled2DTetragon(new BinaryTree2DTetragon(), 10, 10).plant(binaryTree);
+        Mazes.assertPerfect(binaryTree);
+
+        Grid2DTetragon cellBinaryTree = Grid2DTetragon.of(40, 40);
+        new Tiled2DTetragon(new BinaryTree2DTetragon(), 10, 10).plant(cellBinaryTree);
+        Mazes.assertPerfect(cellBinaryTree);
+
+        PackedGrid2DTetragon sidewinder = PackedGrid2DTetragon.of(40, 40);
+        new Tiled2DTetragon(new Sidewinder2DTetragon(), 10, 10).plant(sidewinder);
+        Mazes.assertPerfect(sidewinder);
+
+        Grid2DTetragon cellSidewinder = Grid2DTetragon.of(40, 40);
+        new Tiled2DTetragon(new Sidewinder2DTetragon(), 10, 10).plant(cellSidewinder);
+        Mazes.assertPerfect(cellSidewinder);
+    }
+
+    @Test
+    void tileAfterSeams() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(4, 8);
+        new Tiled2DTetragon(new Kruskal2DTetragon(), 4, 4).plant(grid, GenerationContext.ofSeed(3L));
+        Mazes.assertPerfect(grid);
+
+        // the seam links must not leak into the tiles
+        for (int column = 0; column < 8; column += 4) {
+            SubGrid2DTetragon tile = SubGrid2DTetragon.of(grid, 0, column, 4, 4);
+            Mazes.assertPerfect(tile);
+            assertEquals(tile.getSize(), Dijkstras.of().analyse(tile, tile.getCell(0, 0)).reachedCount());
+        }
+
+        // a link leaving the tile east must not join the tile's next row
+        for (long seed = 0L; seed < 50L; seed++) {
+            PackedGrid2DTetragon seam = PackedGrid2DTetragon.of(4, 8);
+            seam.link(3, Direction2DTetragon.EAST);
+            SubGrid2DTetragon tile = SubGrid2DTetragon.of(seam, 0, 0, 4, 4);
+            new Kruskal2DTetragon().plant(tile, GenerationContext.ofSeed(seed));
+            Mazes.assertPerfect(tile);
+        }
+    }
+
+    @Test
+    void masked() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(60, 60);
+        // covers a whole tile and parts of others
+        grid.getMask().maskRectangle(18, 18, 43, 43);
+        new Tiled2DTetragon(new HuntAndKill2DTetragon(), 20, 20).plant(grid);
+        Mazes.assertPerfect(grid);
+    }
+
+    @Test
+    void seeded() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(120, 90);
+        PackedGrid2DTetragon same = PackedGrid2DTetragon.of(120, 90);
+
+        new Tiled2DTetragon(new Wilson2DTetragon(), 20, 20).plant(grid, GenerationContext.ofSeed(12L));
+        new Tiled2DTetragon(new Wilson2DTetragon(), 20, 20).plant(same, GenerationContext.ofSeed(12L));
+
+        Mazes.assertSameLinks(grid, same);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.cell.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.grid.d2.Grid2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Cell2DTetragonTest {
+
+    @Test
+    void link() {
+        Grid2DTetragon grid = Grid2DTetragon.of(3, 3);
+        ICell2DTetragon cell = grid.getCell(1, 1);
+        ICell2DTetragon north = cell.getNeighbourNorth();
+
+        cell.link(north);
+
+        assertTrue(cell.isLinked(north));
+        assertTrue(cell.isLinked(Direction2DTetragon.NORTH));
+        assertTrue(north.isLinked(Direction2DTetragon.SOUTH));
+        assertFalse(cell.isLinked(Direction2DTetragon.EAST));
+        assertEquals(1, cell.getLinkedNeighbours().size());
+        assertTrue(cell.getLinkedNeighbours().contains(north));
+
+        cell.unlink(north, true);
+        assertFalse(cell.isLinked(north));
+        assertFalse(north.isLinked(cell));
+    }
+
+    @Test
+    void linkBorderOrNoNeighbour() {
+        Grid2DTetragon grid = Grid2DTetragon.of(3, 3);
+        ICell2DTetragon cell = grid.getCell(0, 0);
+
+        cell.link(cell.getNeighbourNorth());
+        cell.link(grid.getCell(2, 2));
+
+        assertTrue(cell.getLinkedNeighbours().isEmpty());
+    }
+
+    @Test
+    void linkWeightMap() {
+        Grid2DTetragon grid = Grid2DTetragon.of(3, 3);
+        ICell2DTetragon cell = grid.getCell(1, 1);
+        ICell2DTetragon east = cell.getNeighbourEast();
+        ICell2DTetragon south = cell.getNeighbourSouth();
+
+        cell.link(east, 5L);
+        cell.link(south);
+        Map<ICell, Long> weightMap = cell.getLinkedNeighbourWeightMap();
+
+        assertEquals(2, weightMap.size());
+        assertEquals(5L, weightMap.get(east));
+        assertEquals(IWeightedEdge.SIMPLE, weightMap.get(south));
+        assertEquals(5L, east.getLinkedNeighbourWeightMap().get(cell));
+        assertEquals(Map.of(east, 5L, south, IWeightedEdge.SIMPLE), weightMap);
+
+        cell.setLinkWeight(south, 3L);
+        assertEquals(3L, weightMap.get(south));
+        assertThrows(IllegalArgumentException.class, () -> cell.setLinkWeight(cell.getNeighbourWest(), 3L));
+
+        weightMap.remove(east);
+        assertFalse(cell.isLinked(east));
+        assertEquals(1, weightMap.size());
+    }
+
+    @Test
+    void neighbourIteration() {
+        Grid2DTetragon grid = Grid2DTetragon.of(3, 3);
+        ICell2DTetragon corner = grid.getCell(0, 0);
+        ICell2DTetragon center = grid.getCell(1, 1);
+        center.link(center.getNeighbourWest(), 4L);
+
+        assertEquals(2, corner.traversableNeighbourCount());
+        assertEquals(4, center.traversableNeighbourCount());
+        assertEquals(3, corner.getNeighbours().size());
+
+        List<ICell> linkedL = new ArrayList<>();
+        center.forEachLinkedNeighbour((nb, weight) -> {
+            assertEquals(4L, weight);
+            linkedL.add(nb);
+        });
+        assertEquals(List.of(grid.getCell(1, 0)), linkedL);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 20; i++) {
+            ICell nb = corner.randomTraversableNeighbour(random);
+            assertTrue(nb.equals(grid.getCell(0, 1)) || nb.equals(grid.getCell(1, 0)));
+        }
+    }
+}
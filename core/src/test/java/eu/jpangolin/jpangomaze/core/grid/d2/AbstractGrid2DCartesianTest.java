@@ -62,4 +62,84 @@ class AbstractGrid2DCartesianTest {
     @org.junit.jupiter.api.Test
     void getCell() {
     }
-}
\ No newline at end of file
+
+    @org.junit.jupiter.api.Test
+    void maskRectangle() {
+        AbstractGrid2DCartesian.Mask2DCartesian mask = new AbstractGrid2DCartesian.Mask2DCartesian(10, 100);
+
+        assertEquals(3 * 80, mask.maskRectangle(2, 10, 4, 89));
+        assertEquals(3 * 80, mask.getMaskedCells());
+        assertEquals(0, mask.maskRectangle(3, 10, 3, 89));
+        assertFalse(mask.isUnmasked(2, 10));
+        assertFalse(mask.isUnmasked(4, 89));
+        assertTrue(mask.isUnmasked(4, 90));
+        assertTrue(mask.isUnmasked(1, 50));
+
+        assertEquals(80, mask.unmaskRectangle(3, 0, 3, 99));
+        assertEquals(2 * 80, mask.getMaskedCells());
+        assertEquals(mask.countMaskedCells(), mask.getMaskedCells());
+    }
+
+    @org.junit.jupiter.api.Test
+    void maskUnionIntersect() {
+        AbstractGrid2DCartesian.Mask2DCartesian mask = new AbstractGrid2DCartesian.Mask2DCartesian(8, 9);
+        AbstractGrid2DCartesian.Mask2DCartesian other = new AbstractGrid2DCartesian.Mask2DCartesian(8, 9);
+        mask.maskRectangle(0, 0, 3, 8);
+        other.maskRectangle(2, 0, 7, 8);
+
+        mask.union(other);
+        assertEquals(8 * 9, mask.getMaskedCells());
+
+        mask.unmaskRectangle(0, 0, 0, 8);
+        mask.intersect(other);
+        assertEquals(6 * 9, mask.getMaskedCells());
+        assertTrue(mask.isUnmasked(1, 4));
+        assertFalse(mask.mask(2, 4));
+        assertTrue(mask.unmask(2, 4));
+        assertEquals(6 * 9 - 1, mask.getMaskedCells());
+
+        assertThrows(IllegalArgumentException.class, () -> mask.union(new AbstractGrid2DCartesian.Mask2DCartesian(9, 8)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void unmaskedCellsFollowMask() {
+        Grid2DTetragon grid = Grid2DTetragon.of(4, 5);
+        assertEquals(20, grid.getCells().size());
+
+        grid.getMask().maskRectangle(0, 0, 1, 4);
+        assertEquals(10, grid.getSize());
+        assertEquals(10, grid.getCells().size());
+        assertFalse(grid.getCell(1, 3).isUnmasked());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(grid.getRandomCell().getRow() >= 2);
+        }
+        assertEquals(grid.getCell(2, 0), grid.getCells().get(0));
+
+        grid.getMask().unmask(1, 3);
+        assertEquals(11, grid.getCells().size());
+        assertTrue(grid.getCell(1, 3).isUnmasked());
+        assertEquals(1, grid.getCellsForRow(1).size());
+        assertThrows(UnsupportedOperationException.class, () -> grid.getCells().remove(0));
+    }
+
+    @org.junit.jupiter.api.Test
+    void maskAfterGetCells() {
+        for (IGrid2DTetragon grid : java.util.List.of(Grid2DTetragon.of(5, 5), PackedGrid2DTetragon.of(5, 5))) {
+            assertEquals(25, grid.getCells().size());
+
+            grid.getMask().mask(1, 1);
+            assertFalse(grid.getCell(1, 1).isUnmasked());
+            assertFalse(grid.isUnmasked(1, 1));
+
+            // the cell writes through to the mask
+            grid.getCell(2, 2).setMasked(true);
+            assertFalse(grid.isUnmasked(2, 2));
+            assertEquals(23, grid.getSize());
+            assertEquals(23, grid.getCells().size());
+
+            grid.getCell(1, 1).setMasked(false);
+            assertTrue(grid.getCell(1, 1).isUnmasked());
+            assertEquals(24, grid.getCells().size());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.grid.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import eu.jpangolin.jpangomaze.core.IWeightedEdge;
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.GenerationMetrics;
+import eu.jpangolin.jpangomaze.core.algo.d2.Sidewinder2DTetragon;
+import eu.jpangolin.jpangomaze.core.cell.ICell;
+import eu.jpangolin.jpangomaze.core.cell.d2.ICell2DTetragon;
+import eu.jpangolin.jpangomaze.core.distance.Dijkstras;
+import eu.jpangolin.jpangomaze.core.distance.GridDistanceResult;
+import eu.jpangolin.jpangomaze.core.distance.SimpleDistance;
+import eu.jpangolin.jpangomaze.core.grid.IGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedGrid2DTetragonTest {
+
+    @Test
+    void link() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(3, 4);
+        ICell2DTetragon cell = grid.getCell(1, 1);
+        ICell2DTetragon east = cell.getNeighbourEast();
+
+        cell.link(east);
+
+        assertTrue(cell.isLinked(east));
+        assertTrue(grid.getCell(1, 2).isLinked(grid.getCell(1, 1)));
+        assertEquals(1, cell.getLinkedNeighbours().size());
+        assertFalse(cell.isLinked(cell.getNeighbourSouth()));
+
+        cell.unlink(east, true);
+        assertFalse(cell.isLinked(east));
+        assertFalse(east.isLinked(cell));
+    }
+
+    @Test
+    void linkNoNeighbour() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(3, 4);
+        ICell2DTetragon cell = grid.getCell(0, 0);
+
+        cell.link(grid.getCell(2, 2));
+
+        assertTrue(cell.getLinkedNeighbours().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> cell.link(grid.getCell(0, 0)));
+    }
+
+    @Test
+    void borderNeighbours() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(2, 2);
+        ICell2DTetragon cell = grid.getCell(0, 0);
+
+        assertTrue(cell.getNeighbourNorth().isBorder());
+        assertTrue(cell.getNeighbourWest().isBorder());
+        assertFalse(cell.getNeighbourSouth().isBorder());
+        assertEquals(2, cell.getTraversableNeighbours().size());
+    }
+
+    @Test
+    void linkWeight() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(2, 2);
+        ICell2DTetragon cell = grid.getCell(0, 0);
+        ICell2DTetragon south = cell.getNeighbourSouth();
+
+        cell.link(south, 7L);
+
+        assertEquals(7L, cell.getLinkedNeighbourWeightMap().get(south));
+        cell.setLinkWeight(south, IWeightedEdge.SIMPLE);
+        assertEquals(IWeightedEdge.SIMPLE, cell.getLinkedNeighbourWeightMap().get(south));
+        assertThrows(IllegalArgumentException.class, () -> cell.setLinkWeight(cell.getNeighbourEast(), 3L));
+    }
+
+    @Test
+    void sidewinder() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(20, 30);
+        GenerationContext ctx = GenerationContext.of();
+        new Sidewinder2DTetragon().plant(grid, ctx);
+
+        assertEquals(grid.getSize() - 1, ctx.metrics().get(GenerationMetrics.Counter.LINKS));
+        long links = 0;
+        for (ICell cell : grid.getCells()) {
+            links += cell.getLinkedNeighbours().size();
+        }
+        // perfect maze: n - 1 links, each stored twice
+        assertEquals(2L * (grid.getSize() - 1), links);
+        // and all cells are reachable
+        assertEquals(grid.getSize(), Dijkstras.of().analyse(grid.getCell(0, 0)).pathLinkMap().size());
+    }
+
+    @Test
+    void cellIds() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(3, 4);
+        int id = grid.cellId(1, 2);
+
+        assertEquals(6, id);
+        assertEquals(id, grid.cellId(grid.getCell(1, 2)));
+        assertEquals(grid.getCell(1, 2), grid.cellAt(id));
+        assertEquals(2, grid.neighbourId(id, Direction2DTetragon.NORTH));
+        assertEquals(IGrid.NO_CELL, grid.neighbourId(grid.cellId(0, 3), Direction2DTetragon.EAST));
+
+        grid.link(id, Direction2DTetragon.SOUTH);
+        assertTrue(grid.isLinked(id, grid.cellId(2, 2)));
+        assertTrue(grid.getCell(2, 2).isLinked(grid.getCell(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> grid.link(grid.cellId(0, 0), Direction2DTetragon.WEST));
+    }
+
+    @Test
+    void maxCells() {
+        // the weight index of the last link must not overflow
+        assertTrue(PackedGrid2DTetragon.MAX_CELLS * Direction2DTetragon.values().length <= Integer.MAX_VALUE - 8);
+        assertThrows(IllegalArgumentException.class, () -> PackedGrid2DTetragon.of(1 << 15, (1 << 14) + 1));
+    }
+
+    @Test
+    void gridDistance() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(20, 30);
+        new Sidewinder2DTetragon().plant(grid);
+        ICell2DTetragon root = grid.getCell(0, 0);
+        ICell2DTetragon goal = grid.getCell(19, 29);
+
+        GridDistanceResult<ICell2DTetragon> dijkstra = Dijkstras.of().analyse(grid, root);
+        GridDistanceResult<ICell2DTetragon> simple = SimpleDistance.create().analyse(grid, root);
+
+        assertEquals(grid.getSize(), dijkstra.reachedCount());
+        assertEquals(grid.getSize(), simple.reachedCount());
+        assertEquals(Dijkstras.of().analyse(root).shortestPathFor(goal), dijkstra.shortestPathFor(goal));
+        assertEquals(dijkstra.steps(grid.cellId(goal)), simple.shortestPathFor(goal).size());
+        assertEquals(grid.getSize(), dijkstra.pathLinkMap().size());
+    }
+
+    @Test
+    void seededPlant() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(15, 25);
+        PackedGrid2DTetragon same = PackedGrid2DTetragon.of(15, 25);
+
+        new Sidewinder2DTetragon().plant(grid, GenerationContext.ofSeed(42L));
+        new Sidewinder2DTetragon().plant(same, GenerationContext.ofSeed(42L));
+
+        for (int id = 0; id < grid.getCapacity(); id++) {
+            assertEquals(grid.getLinkBits(id), same.getLinkBits(id));
+        }
+    }
+}
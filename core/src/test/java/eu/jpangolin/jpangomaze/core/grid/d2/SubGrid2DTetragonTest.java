@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.grid.d2;
+
+import eu.jpangolin.jpangomaze.core.Direction2DTetragon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubGrid2DTetragonTest {
+
+    @Test
+    void view() {
+        PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(10, 10);
+        SubGrid2DTetragon sub = SubGrid2DTetragon.of(grid, 2, 3, 4, 5);
+
+        assertEquals(20, sub.getSize());
+        assertEquals(grid.cellId(3, 5), sub.parentId(sub.cellId(1, 2)));
+        assertEquals(sub.cellId(1, 2), sub.cellId(grid.getCell(3, 5)));
+        // no neighbour outside
+        assertEquals(SubGrid2DTetragon.NO_CELL, sub.neighbourId(sub.cellId(0, 4), Direction2DTetragon.EAST));
+
+        sub.link(sub.cellId(1, 2), Direction2DTetragon.SOUTH);
+        assertTrue(grid.isLinked(grid.cellId(3, 5), Direction2DTetragon.SOUTH));
+        assertTrue(grid.isLinked(grid.cellId(4, 5), Direction2DTetragon.NORTH));
+
+        // cells are bounded to the view
+        assertTrue(sub.getCell(0, 4).getNeighbourEast().isBorder());
+        assertTrue(sub.getCell(3, 0).getNeighbourSouth().isBorder());
+        sub.getCell(2, 2).link(sub.getCell(2, 3));
+        assertTrue(grid.isLinked(grid.cellId(4, 5), Direction2DTetragon.EAST));
+        assertTrue(sub.getCell(2, 3).isLinked(sub.getCell(2, 2)));
+        assertEquals(sub.cellId(2, 3), sub.cellId(sub.getCell(2, 3)));
+
+        grid.getMask().mask(2, 3);
+        SubGrid2DTetragon masked = SubGrid2DTetragon.of(grid, 2, 3, 4, 5);
+        assertEquals(19, masked.getSize());
+        assertFalse(masked.isUnmasked(0));
+        assertThrows(UnsupportedOperationException.class, () -> masked.getMask().mask(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> SubGrid2DTetragon.of(grid, 8, 8, 3, 3));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.jfr;
+
+import eu.jpangolin.jpangomaze.core.algo.GenerationContext;
+import eu.jpangolin.jpangomaze.core.algo.d2.Sidewinder2DTetragon;
+import eu.jpangolin.jpangomaze.core.distance.Dijkstras;
+import eu.jpangolin.jpangomaze.core.grid.d2.PackedGrid2DTetragon;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlantEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recorded() throws Exception {
+        Path file = tempDir.resolve("maze.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PlantEvent.class).withoutThreshold();
+            recording.enable(DistanceEvent.class).withoutThreshold();
+            recording.enable(GridPrepareEvent.class).withoutThreshold();
+            recording.start();
+
+            PackedGrid2DTetragon grid = PackedGrid2DTetragon.of(10, 12);
+            grid.getMask().mask(0, 0);
+            new Sidewinder2DTetragon().plant(grid, GenerationContext.ofSeed(7L));
+            Dijkstras.of().analyse(grid, grid.getCell(5, 5));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> eventL = RecordingFile.readAllEvents(file);
+        RecordedEvent plant = find(eventL, "eu.jpangolin.jpangomaze.Plant");
+        assertEquals(Sidewinder2DTetragon.class.getName(), plant.getClass("algorithm").getName());
+        assertEquals(10, plant.getInt("rows"));
+        assertEquals(12, plant.getInt("columns"));
+        assertEquals(1, plant.getInt("maskedCells"));
+
+        RecordedEvent distance = find(eventL, "eu.jpangolin.jpangomaze.Distance");
+        assertEquals(Dijkstras.class.getName(), distance.getClass("measurer").getName());
+        assertTrue(distance.getInt("reachedCells") > 0);
+
+        assertNotNull(find(eventL, "eu.jpangolin.jpangomaze.GridPrepare"));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> eventL, String name) {
+        return eventL.stream()
+                .filter(event -> name.equals(event.getEventType().getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No event " + name));
+    }
+}
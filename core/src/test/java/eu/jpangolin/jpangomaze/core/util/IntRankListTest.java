@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 Tim Langhammer.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.jpangolin.jpangomaze.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntRankListTest {
+
+    @Test
+    void keepsOrder() {
+        // compare with a list removing and adding randomly
+        SplittableRandom random = new SplittableRandom(7L);
+        IntRankList list = new IntRankList(1000);
+        List<Integer> expectedL = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < 3000 && (next < 1000 || !expectedL.isEmpty()); i++) {
+            if (next < 1000 && (expectedL.isEmpty() || random.nextBoolean())) {
+                list.add(next);
+                expectedL.add(next++);
+            } else {
+                int index = random.nextInt(expectedL.size());
+                assertEquals(expectedL.remove(index).intValue(), list.removeAt(index));
+            }
+            assertEquals(expectedL.size(), list.size());
+            if (!expectedL.isEmpty()) {
+                assertEquals(expectedL.get(expectedL.size() - 1).intValue(), list.get(list.size() - 1));
+                assertEquals(expectedL.get(0).intValue(), list.get(0));
+            }
+        }
+        while (!expectedL.isEmpty()) {
+            assertEquals(expectedL.remove(expectedL.size() - 1).intValue(), list.removeLast());
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void bounds() {
+        IntRankList list = new IntRankList(2);
+        list.add(1);
+        list.add(2);
+        assertThrows(IllegalStateException.class, () -> list.add(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+        list.removeAt(0);
+        assertEquals(2, list.get(0));
+        // slots are not reused
+        assertThrows(IllegalStateException.class, () -> list.add(3));
+        assertThrows(IllegalArgumentException.class, () -> new IntRankList(-1));
+    }
+}